@@ -0,0 +1,66 @@
+package coursework;
+
+import edu.princeton.cs.algs4.StdRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Uniform int in [0, bound): global StdRandom against Lemire's method on own generators.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundedRandomBenchmark
+{
+    @Param({"SplittableRandom", "L64X128MixRandom", "Xoroshiro128PlusPlus"})
+    private String generator;
+
+    // Not a power of two, so rejection is possible
+    @Param({"1000", "1000000000"})
+    private int bound;
+
+    private RandomGenerator random;
+
+    @Setup
+    public void setUp()
+    {
+        random = RandomGeneratorFactory.of(generator).create(42);
+    }
+
+    @Benchmark
+    public int stdRandom()
+    {
+        return StdRandom.uniform(bound);
+    }
+
+    // JDK bounded nextInt of the same generator
+    @Benchmark
+    public int nextIntBounded()
+    {
+        return random.nextInt(bound);
+    }
+
+    @Benchmark
+    public int lemire()
+    {
+        return BoundedRandom.uniform(random, bound);
+    }
+}
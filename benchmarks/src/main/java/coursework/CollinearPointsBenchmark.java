@@ -0,0 +1,69 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollinearPointsBenchmark
+{
+    // Coordinates are in [0, 32768) as in the assignment input files
+    private static final int MAX_COORDINATE = 32768;
+
+    @Param({"50", "100", "200"})
+    private int n;
+
+    private Point[] points;
+
+    // Distinct random points, a quarter of them on horizontal lines of 8 points (so segments exist)
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(n);
+        Set<Long> used = new HashSet<>();
+        points = new Point[n];
+
+        int count = 0;
+        while (count < n) {
+            int x = random.nextInt(MAX_COORDINATE);
+            int y = (count < n / 4) ? (count / 8) * 1000 : random.nextInt(MAX_COORDINATE);
+
+            if (used.add(((long) x << 32) | y)) {
+                points[count++] = new Point(x, y);
+            }
+        }
+    }
+
+    @Benchmark
+    public int brute()
+    {
+        return new BruteCollinearPoints(points).numberOfSegments();
+    }
+
+    @Benchmark
+    public int fast()
+    {
+        return new FastCollinearPoints(points).numberOfSegments();
+    }
+}
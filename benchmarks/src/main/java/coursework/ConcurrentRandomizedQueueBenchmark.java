@@ -0,0 +1,114 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every thread enqueues an item and dequeues a random one: striped queue
+ * against RandomizedQueue behind a global lock, at 8, 32 and 64 threads,
+ * in a nearly empty queue (where striped dequeue rejects most stripes) and a full one.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentRandomizedQueueBenchmark
+{
+    // Boxed once, so benchmarks measure the queue and not Integer allocation
+    private static final Integer ITEM = 42;
+
+    // Items in queues before benchmark (so dequeue doesn't find them empty)
+    @Param({"1", "16", "10000"})
+    public int initialSize;
+
+    private ConcurrentRandomizedQueue<Integer> striped;
+
+    // RandomizedQueue behind a global lock
+    private RandomizedQueue<Integer> synchronizedQueue;
+
+    @Setup
+    public void setUp()
+    {
+        striped = new ConcurrentRandomizedQueue<>();
+        synchronizedQueue = new RandomizedQueue<>();
+
+        for (int i = 0; i < initialSize; i++) {
+            striped.enqueue(ITEM);
+            synchronizedQueue.enqueue(ITEM);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer striped8()
+    {
+        return stripedEnqueueDequeue();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer striped32()
+    {
+        return stripedEnqueueDequeue();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer striped64()
+    {
+        return stripedEnqueueDequeue();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer synchronized8()
+    {
+        return synchronizedEnqueueDequeue();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer synchronized32()
+    {
+        return synchronizedEnqueueDequeue();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer synchronized64()
+    {
+        return synchronizedEnqueueDequeue();
+    }
+
+    private Integer stripedEnqueueDequeue()
+    {
+        striped.enqueue(ITEM);
+
+        return striped.poll();
+    }
+
+    private Integer synchronizedEnqueueDequeue()
+    {
+        synchronized (synchronizedQueue) {
+            synchronizedQueue.enqueue(ITEM);
+
+            return synchronizedQueue.dequeue();
+        }
+    }
+}
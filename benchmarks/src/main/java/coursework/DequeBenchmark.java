@@ -0,0 +1,226 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeBenchmark
+{
+    // Boxed once, so benchmarks measure the deque and not Integer allocation
+    private static final Integer ITEM = 42;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    // Use as a queue: add to the end, remove from the front
+    @Benchmark
+    public int addLastRemoveFirst()
+    {
+        Deque<Integer> deque = new Deque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(ITEM);
+        }
+
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+
+        return sum;
+    }
+
+    // Use as a stack: add to the front, remove from the front
+    @Benchmark
+    public int addFirstRemoveFirst()
+    {
+        Deque<Integer> deque = new Deque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addFirst(ITEM);
+        }
+
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int addFirstRemoveLast()
+    {
+        Deque<Integer> deque = new Deque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addFirst(ITEM);
+        }
+
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeLast();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int iterate()
+    {
+        Deque<Integer> deque = new Deque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(ITEM);
+        }
+
+        int sum = 0;
+        for (int item: deque) {
+            sum += item;
+        }
+
+        return sum;
+    }
+
+    // Aggregation split between threads (linked deque copies batches to split)
+    @Benchmark
+    public long parallelStreamSum()
+    {
+        Deque<Integer> deque = new Deque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(ITEM);
+        }
+
+        return deque.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long ringBufferParallelStreamSum()
+    {
+        RingBufferDeque<Integer> deque = new RingBufferDeque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(ITEM);
+        }
+
+        return deque.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    // Same queue use of the circular array deque
+    @Benchmark
+    public int ringBufferAddLastRemoveFirst()
+    {
+        RingBufferDeque<Integer> deque = new RingBufferDeque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(ITEM);
+        }
+
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int ringBufferAddFirstRemoveLast()
+    {
+        RingBufferDeque<Integer> deque = new RingBufferDeque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addFirst(ITEM);
+        }
+
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeLast();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int ringBufferIterate()
+    {
+        RingBufferDeque<Integer> deque = new RingBufferDeque<>();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(ITEM);
+        }
+
+        int sum = 0;
+        for (int item: deque) {
+            sum += item;
+        }
+
+        return sum;
+    }
+
+    // Batch hand-off: add and drain the whole batch with array copies
+    @Benchmark
+    public int ringBufferBulkAddLastDrain()
+    {
+        RingBufferDeque<Integer> deque = new RingBufferDeque<>();
+
+        Integer[] batch = new Integer[size];
+        Arrays.fill(batch, ITEM);
+        deque.addAllLast(batch);
+
+        return deque.drainTo(batch, batch.length);
+    }
+
+    // Same queue use of the primitive deque (no boxing, no nodes)
+    @Benchmark
+    public long intDequeAddLastRemoveFirst()
+    {
+        IntDeque deque = new IntDeque();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+        }
+
+        long sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long intDequeForEach()
+    {
+        IntDeque deque = new IntDeque();
+
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+        }
+
+        long[] sum = new long[1];
+        deque.forEach(value -> sum[0] += value);
+
+        return sum[0];
+    }
+}
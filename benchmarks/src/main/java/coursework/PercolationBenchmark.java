@@ -0,0 +1,191 @@
+package coursework;
+
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Percolation operations, and union-find of algs4 (weighted quick union without path
+ * compression) against PathHalvingUF used by Percolation, on the same open-until-percolates
+ * workload: union of every opened site with its open neighbours, connected() of virtual
+ * top and bottom after each site.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercolationBenchmark
+{
+    @Param({"64", "256", "1024"})
+    private int n;
+
+    // Random order of all sites (row and column of each step)
+    private int[] rows;
+    private int[] cols;
+
+    // Grid that already percolates
+    private Percolation percolated;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(n);
+        int sitesNumber = n * n;
+        int[] order = new int[sitesNumber];
+
+        for (int i = 0; i < sitesNumber; i++) {
+            int swapIndex = random.nextInt(i + 1);
+            order[i] = order[swapIndex];
+            order[swapIndex] = i;
+        }
+
+        rows = new int[sitesNumber];
+        cols = new int[sitesNumber];
+        for (int i = 0; i < sitesNumber; i++) {
+            rows[i] = (order[i] / n) + 1;
+            cols[i] = (order[i] % n) + 1;
+        }
+
+        percolated = new Percolation(n);
+        percolated.openAll(rows, cols);
+    }
+
+    // Open sites one by one checking percolates() after each open (as PercolationStats does)
+    @Benchmark
+    public int openUntilPercolates()
+    {
+        Percolation percolation = new Percolation(n);
+
+        int i = 0;
+        while (!percolation.percolates()) {
+            percolation.open(rows[i], cols[i]);
+            i++;
+        }
+
+        return i;
+    }
+
+    // Open all sites with one batch call
+    @Benchmark
+    public int openAll()
+    {
+        return new Percolation(n).openAll(rows, cols);
+    }
+
+    // Open-until-percolates on algs4 WeightedQuickUnionUF
+    @Benchmark
+    public int weightedQuickUnionUF()
+    {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF((n * n) + 2);
+
+        return unionUntilPercolates(new UnionFind()
+        {
+            public void union(int p, int q)
+            {
+                uf.union(p, q);
+            }
+
+            public boolean connected(int p, int q)
+            {
+                return uf.connected(p, q);
+            }
+        });
+    }
+
+    // Open-until-percolates on PathHalvingUF
+    @Benchmark
+    public int pathHalvingUF()
+    {
+        PathHalvingUF uf = new PathHalvingUF((n * n) + 2);
+
+        return unionUntilPercolates(new UnionFind()
+        {
+            public void union(int p, int q)
+            {
+                uf.union(p, q);
+            }
+
+            public boolean connected(int p, int q)
+            {
+                return uf.connected(p, q);
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean percolates()
+    {
+        return percolated.percolates();
+    }
+
+    @Benchmark
+    public boolean isFull()
+    {
+        return percolated.isFull(n, n);
+    }
+
+    // Union-find operations of the open-until-percolates loop (both union-finds run the same loop)
+    private interface UnionFind
+    {
+        void union(int p, int q);
+
+        boolean connected(int p, int q);
+    }
+
+    // Open sites in random order on uf of n * n sites and virtual top and bottom,
+    // union each one with open neighbours until top and bottom are connected, return opened sites
+    private int unionUntilPercolates(UnionFind uf)
+    {
+        int sitesNumber = n * n;
+        int top = sitesNumber;
+        int bottom = sitesNumber + 1;
+        boolean[] isOpen = new boolean[sitesNumber];
+
+        int i = 0;
+        while (!uf.connected(top, bottom)) {
+            int row = rows[i] - 1;
+            int col = cols[i] - 1;
+            int site = row * n + col;
+            isOpen[site] = true;
+
+            if (row == 0) {
+                uf.union(site, top);
+            }
+            if (row == n - 1) {
+                uf.union(site, bottom);
+            }
+            if (row > 0 && isOpen[site - n]) {
+                uf.union(site, site - n);
+            }
+            if (row < n - 1 && isOpen[site + n]) {
+                uf.union(site, site + n);
+            }
+            if (col > 0 && isOpen[site - 1]) {
+                uf.union(site, site - 1);
+            }
+            if (col < n - 1 && isOpen[site + 1]) {
+                uf.union(site, site + 1);
+            }
+            i++;
+        }
+
+        return i;
+    }
+}
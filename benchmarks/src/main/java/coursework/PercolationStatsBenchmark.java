@@ -0,0 +1,65 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole runs of TRIALS trials of each kind on small grids (the original serial
+ * constructor is in PercolationStatsSerialBenchmark, single trials on large grids
+ * are in PercolationTrialBenchmark).
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercolationStatsBenchmark
+{
+    // Number of trials in one run
+    private static final int TRIALS = 20;
+
+    @Param({"64", "256"})
+    private int n;
+
+    @Param({"random", "permutation", "bisection"})
+    private String trialName;
+
+    private PercolationTrial trial;
+
+    @Setup
+    public void setUp()
+    {
+        switch (trialName) {
+            case "random":
+                trial = new RandomSiteTrial(n);
+                break;
+            case "permutation":
+                trial = new PermutationTrial(n);
+                break;
+            default:
+                trial = new BisectionTrial(n);
+                break;
+        }
+    }
+
+    // One thread, so only the trial kind is compared
+    @Benchmark
+    public double singleThreadTrials()
+    {
+        return new PercolationStats(trial, TRIALS, 0, 1).mean();
+    }
+}
@@ -0,0 +1,42 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Original serial PercolationStats constructor (StdRandom draws with repeats),
+ * the baseline for trial kinds in PercolationStatsBenchmark. It has no trial kind,
+ * so it is measured once per grid size.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercolationStatsSerialBenchmark
+{
+    // Number of trials in one run (as in PercolationStatsBenchmark)
+    private static final int TRIALS = 20;
+
+    @Param({"64", "256"})
+    private int n;
+
+    @Benchmark
+    public double serial()
+    {
+        return new PercolationStats(n, TRIALS).mean();
+    }
+}
@@ -0,0 +1,67 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One trial of each kind on large grids: open-and-check loop ("random", "permutation")
+ * against bisection of a fixed opening order. A trial at n = 8192 takes seconds,
+ * so each invocation is timed separately.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PercolationTrialBenchmark
+{
+    @Param({"512", "2048", "8192"})
+    private int n;
+
+    @Param({"random", "permutation", "bisection"})
+    private String trialName;
+
+    private PercolationTrial trial;
+
+    // Random streams of trials (a new opening order for every invocation)
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp()
+    {
+        switch (trialName) {
+            case "random":
+                trial = new RandomSiteTrial(n);
+                break;
+            case "permutation":
+                trial = new PermutationTrial(n);
+                break;
+            default:
+                trial = new BisectionTrial(n);
+                break;
+        }
+
+        random = new SplittableRandom(n);
+    }
+
+    @Benchmark
+    public double threshold()
+    {
+        return trial.threshold(random.split());
+    }
+}
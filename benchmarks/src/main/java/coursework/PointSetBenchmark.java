@@ -0,0 +1,146 @@
+package coursework;
+
+import edu.princeton.cs.algs4.Point2D;
+import edu.princeton.cs.algs4.RectHV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KdTree and brute-force PointSET on the same random points in the unit square.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointSetBenchmark
+{
+    // Number of range and nearest queries in one benchmark call
+    private static final int QUERIES = 100;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Point2D[] points;
+
+    private Point2D[] queryPoints;
+
+    private RectHV[] queryRects;
+
+    private KdTree kdTree;
+
+    private PointSET pointSet;
+
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(size);
+
+        points = new Point2D[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = new Point2D(random.nextDouble(), random.nextDouble());
+        }
+
+        queryPoints = new Point2D[QUERIES];
+        queryRects = new RectHV[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryPoints[i] = new Point2D(random.nextDouble(), random.nextDouble());
+
+            double x = random.nextDouble() * 0.9;
+            double y = random.nextDouble() * 0.9;
+            queryRects[i] = new RectHV(x, y, x + 0.05, y + 0.05);
+        }
+
+        kdTree = new KdTree();
+        pointSet = new PointSET();
+        for (Point2D point: points) {
+            kdTree.insert(point);
+            pointSet.insert(point);
+        }
+    }
+
+    @Benchmark
+    public int kdTreeInsert()
+    {
+        KdTree tree = new KdTree();
+        for (Point2D point: points) {
+            tree.insert(point);
+        }
+
+        return tree.size();
+    }
+
+    @Benchmark
+    public int pointSetInsert()
+    {
+        PointSET set = new PointSET();
+        for (Point2D point: points) {
+            set.insert(point);
+        }
+
+        return set.size();
+    }
+
+    @Benchmark
+    public int kdTreeRange()
+    {
+        int count = 0;
+        for (RectHV rect: queryRects) {
+            for (Point2D point: kdTree.range(rect)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int pointSetRange()
+    {
+        int count = 0;
+        for (RectHV rect: queryRects) {
+            for (Point2D point: pointSet.range(rect)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public double kdTreeNearest()
+    {
+        double sum = 0;
+        for (Point2D point: queryPoints) {
+            sum += kdTree.nearest(point).x();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public double pointSetNearest()
+    {
+        double sum = 0;
+        for (Point2D point: queryPoints) {
+            sum += pointSet.nearest(point).x();
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,183 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomizedQueueBenchmark
+{
+    // Boxed once, so benchmarks measure the queue and not Integer allocation
+    private static final Integer ITEM = 42;
+
+    // Items in batch dequeue and sample
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    // Filled queue for iteration and sample
+    private RandomizedQueue<Integer> filled;
+
+    // Result of batch sample
+    private Integer[] sampleBatch = new Integer[BATCH_SIZE];
+
+    @Setup
+    public void setUp()
+    {
+        filled = new RandomizedQueue<>();
+
+        for (int i = 0; i < size; i++) {
+            filled.enqueue(i);
+        }
+    }
+
+    @Benchmark
+    public int enqueueDequeue()
+    {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(ITEM);
+        }
+
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+
+        return sum;
+    }
+
+    // Same with own seeded generator instead of global StdRandom
+    @Benchmark
+    public int enqueueDequeueSplittableRandom()
+    {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>(new SplittableRandom(size));
+
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(ITEM);
+        }
+
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+
+        return sum;
+    }
+
+    // Mini-batches of 64 items: one call per batch
+    @Benchmark
+    public int batchDequeue()
+    {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>(new SplittableRandom(size));
+
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(ITEM);
+        }
+
+        Integer[] batch = new Integer[BATCH_SIZE];
+        int sum = 0;
+        while (queue.size() >= BATCH_SIZE) {
+            queue.dequeue(BATCH_SIZE, batch);
+            sum += batch[0];
+        }
+
+        return sum;
+    }
+
+    // Same batches by single item dequeue
+    @Benchmark
+    public int loopDequeue()
+    {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>(new SplittableRandom(size));
+
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(ITEM);
+        }
+
+        Integer[] batch = new Integer[BATCH_SIZE];
+        int sum = 0;
+        while (queue.size() >= BATCH_SIZE) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch[i] = queue.dequeue();
+            }
+            sum += batch[0];
+        }
+
+        return sum;
+    }
+
+    // Distinct items of filled queue
+    @Benchmark
+    public Integer[] batchSample()
+    {
+        filled.sample(BATCH_SIZE, sampleBatch);
+
+        return sampleBatch;
+    }
+
+    @Benchmark
+    public int sample()
+    {
+        return filled.sample();
+    }
+
+    @Benchmark
+    public int iterate()
+    {
+        int sum = 0;
+        for (int item: filled) {
+            sum += item;
+        }
+
+        return sum;
+    }
+
+    // Iteration without copy of items
+    @Benchmark
+    public int viewIterate()
+    {
+        int sum = 0;
+        Iterator<Integer> iterator = filled.viewIterator();
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+
+        return sum;
+    }
+
+    // Creation and the first item only: copying iterator pays for the whole copy
+    @Benchmark
+    public int firstOfIterator()
+    {
+        return filled.iterator().next();
+    }
+
+    @Benchmark
+    public int firstOfViewIterator()
+    {
+        return filled.viewIterator().next();
+    }
+}
@@ -0,0 +1,91 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Dima Pasieka
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark
+{
+    @Param({"3", "4"})
+    private int dimension;
+
+    // Number of random moves from the goal board
+    @Param({"10", "20", "30"})
+    private int shuffleMoves;
+
+    private Board initial;
+
+    // Random walk of the blank from the goal board (so the board is always solvable)
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom((dimension * 100) + shuffleMoves);
+        int[][] blocks = new int[dimension][dimension];
+
+        for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j < dimension; j++) {
+                blocks[i][j] = (i * dimension) + j + 1;
+            }
+        }
+
+        int blankI = dimension - 1;
+        int blankJ = dimension - 1;
+        blocks[blankI][blankJ] = 0;
+
+        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int move = 0; move < shuffleMoves; move++) {
+            int[] direction = directions[random.nextInt(directions.length)];
+            int i = blankI + direction[0];
+            int j = blankJ + direction[1];
+
+            if (i < 0 || j < 0 || i >= dimension || j >= dimension) {
+                move--;
+                continue;
+            }
+
+            blocks[blankI][blankJ] = blocks[i][j];
+            blocks[i][j] = 0;
+            blankI = i;
+            blankJ = j;
+        }
+
+        initial = new Board(blocks);
+    }
+
+    @Benchmark
+    public int solve()
+    {
+        return new Solver(initial).moves();
+    }
+
+    @Benchmark
+    public int neighbors()
+    {
+        int count = 0;
+        for (Board board: initial.neighbors()) {
+            count += board.manhattan();
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,87 @@
+package coursework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One owner thread adds and takes back items, other threads steal them.
+ * Number of thieves is changed with -tg, e.g. -tg 1,31 for 32 threads.
+ *
+ * @author Dima Pasieka
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkStealingDequeBenchmark
+{
+    // Boxed once, so benchmarks measure the deque and not Integer allocation
+    private static final Integer ITEM = 42;
+
+    // Owner takes items back when deque is that long (so it doesn't grow without limit)
+    private static final int MAX_SIZE = 1024;
+
+    private final WorkStealingDeque<Integer> workStealing = new WorkStealingDeque<>();
+
+    // Deque behind a global lock
+    private final Deque<Integer> synchronizedDeque = new Deque<>();
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer workStealingOwner()
+    {
+        if (workStealing.size() < MAX_SIZE) {
+            workStealing.addLast(ITEM);
+            return ITEM;
+        }
+
+        return workStealing.pollLast();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(7)
+    public Integer workStealingThief()
+    {
+        return workStealing.pollFirst();
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(1)
+    public Integer synchronizedOwner()
+    {
+        synchronized (synchronizedDeque) {
+            if (synchronizedDeque.size() < MAX_SIZE) {
+                synchronizedDeque.addLast(ITEM);
+                return ITEM;
+            }
+
+            return synchronizedDeque.removeLast();
+        }
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(7)
+    public Integer synchronizedThief()
+    {
+        synchronized (synchronizedDeque) {
+            return synchronizedDeque.isEmpty() ? null : synchronizedDeque.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * @author Dima Pasieka
+ */
+public class BisectionTrial implements PercolationTrial {
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // Experiment on an n-by-n grid
+    public BisectionTrial(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        gridLength = n;
+    }
+
+    // Fix random opening order, then binary search the first step
+    // at which open sites connect top and bottom rows (checked by flood-fill)
+    public double threshold(RandomGenerator random)
+    {
+        int sitesNumber = gridLength * gridLength;
+
+        // step at which each site is opened (Fisher-Yates shuffle of steps)
+        int[] openingSteps = new int[sitesNumber];
+        for (int i = 0; i < sitesNumber; i++) {
+            int swapIndex = BoundedRandom.uniform(random, i + 1);
+            openingSteps[i] = openingSteps[swapIndex];
+            openingSteps[swapIndex] = i;
+        }
+
+        // visit marks of flood-fills (site is visited if its mark equals current fill number)
+        int[] visitMarks = new int[sitesNumber];
+        int[] stack = new int[sitesNumber];
+
+        // grid with all sites open always percolates
+        int low = 1;
+        int high = sitesNumber;
+        int fillNumber = 0;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            fillNumber++;
+
+            if (percolates(middle, openingSteps, visitMarks, fillNumber, stack)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return (double) low / sitesNumber;
+    }
+
+    // If grid percolates when first openedNumber sites are open (depth-first flood-fill from top row)
+    private boolean percolates(int openedNumber, int[] openingSteps, int[] visitMarks, int fillNumber, int[] stack)
+    {
+        int stackSize = 0;
+
+        for (int site = 0; site < gridLength; site++) {
+            if (openingSteps[site] < openedNumber) {
+                visitMarks[site] = fillNumber;
+                stack[stackSize++] = site;
+            }
+        }
+
+        int bottomRowStart = gridLength * (gridLength - 1);
+
+        while (stackSize > 0) {
+            int site = stack[--stackSize];
+
+            if (site >= bottomRowStart) {
+                return true;
+            }
+
+            int col = site % gridLength;
+
+            // left, right, top and bottom neighbors
+            if (col > 0) {
+                stackSize = visit(site - 1, openedNumber, openingSteps, visitMarks, fillNumber, stack, stackSize);
+            }
+            if (col < gridLength - 1) {
+                stackSize = visit(site + 1, openedNumber, openingSteps, visitMarks, fillNumber, stack, stackSize);
+            }
+            if (site >= gridLength) {
+                stackSize = visit(site - gridLength, openedNumber, openingSteps, visitMarks, fillNumber, stack, stackSize);
+            }
+            stackSize = visit(site + gridLength, openedNumber, openingSteps, visitMarks, fillNumber, stack, stackSize);
+        }
+
+        return false;
+    }
+
+    // Push open and not visited site to the stack, return new stack size
+    private static int visit(int site, int openedNumber, int[] openingSteps, int[] visitMarks, int fillNumber,
+                             int[] stack, int stackSize)
+    {
+        if (openingSteps[site] < openedNumber && visitMarks[site] != fillNumber) {
+            visitMarks[site] = fillNumber;
+            stack[stackSize++] = site;
+        }
+
+        return stackSize;
+    }
+
+    // Compare time of one trial for each estimator: java BisectionTrial 512 2048 8192
+    public static void main(String[] args)
+    {
+        for (String arg: args) {
+            int n = Integer.parseInt(arg);
+            PercolationTrial[] trials = { new RandomSiteTrial(n), new PermutationTrial(n), new BisectionTrial(n) };
+
+            for (PercolationTrial trial: trials) {
+                Stopwatch stopwatch = new Stopwatch();
+                double threshold = trial.threshold(new SplittableRandom(n));
+
+                StdOut.println("n = " + n + ", " + trial.getClass().getSimpleName()
+                    + ": threshold = " + threshold + ", time = " + stopwatch.elapsedTime() + "s");
+            }
+        }
+    }
+}
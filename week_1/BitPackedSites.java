@@ -0,0 +1,70 @@
+import java.util.Arrays;
+
+/**
+ * Open/blocked state of sites packed into bits of long words (64 sites per word).
+ * Indexes are not validated (callers pass valid indices).
+ *
+ * @author Dima Pasieka
+ */
+public class BitPackedSites {
+
+    // Bits per word as power of two
+    private static final int WORD_SHIFT = 6;
+
+    // Words with site bits
+    private long[] words;
+
+    // Create n sites, all blocked
+    public BitPackedSites(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of sites can't be negative");
+        }
+
+        words = new long[(n + 63) >>> WORD_SHIFT];
+    }
+
+    // Mark site as open
+    public void open(int index)
+    {
+        // shift uses only low 6 bits of the index
+        words[index >>> WORD_SHIFT] |= (1L << index);
+    }
+
+    // If site open
+    public boolean isOpen(int index)
+    {
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    // Copy of all words (site i is bit i % 64 of word i / 64)
+    public long[] toLongArray()
+    {
+        return Arrays.copyOf(words, words.length);
+    }
+
+    // Number of open sites in range [from, to)
+    public int count(int from, int to)
+    {
+        if (from >= to) {
+            return 0;
+        }
+
+        int fromWord = from >>> WORD_SHIFT;
+        int toWord = (to - 1) >>> WORD_SHIFT;
+
+        // bits starting from "from" in the first word and below "to" in the last word
+        long fromMask = -1L << from;
+        long toMask = -1L >>> -to;
+
+        if (fromWord == toWord) {
+            return Long.bitCount(words[fromWord] & fromMask & toMask);
+        }
+
+        int count = Long.bitCount(words[fromWord] & fromMask);
+        for (int i = fromWord + 1; i < toWord; i++) {
+            count += Long.bitCount(words[i]);
+        }
+
+        return count + Long.bitCount(words[toWord] & toMask);
+    }
+}
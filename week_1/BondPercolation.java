@@ -0,0 +1,185 @@
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Bond percolation on n-by-n grid: all sites are present, bonds (edges between neighbor sites) are opened.
+ * Horizontal bond between (row, col) and (row, col + 1) has index ((row - 1) * (n - 1)) + (col - 1),
+ * vertical bond between (row, col) and (row + 1, col) has index (n * (n - 1)) + ((row - 1) * n) + (col - 1).
+ *
+ * @author Dima Pasieka
+ */
+public class BondPercolation {
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // Number of horizontal bonds (vertical bonds go after them)
+    private int horizontalBondsNumber;
+
+    // Bits representing all bonds (either it"s open or blocked)
+    private BitPackedSites bonds;
+
+    // Number of open bonds
+    private int openBondsNumber;
+
+    // Index of the top virtual site (has value 0)
+    private int virtualTopIndex;
+
+    // Index of the bottom virtual site (has value (gridLength * gridLength) + 1)
+    private int virtualBottomIndex;
+
+    // Weighted quick union-find data structure
+    // to calculate percolation
+    private PathHalvingUF ufForPercolation;
+
+    // Weighted quick union-find data structure
+    // to calculate fullness (without bottom virtual site)
+    private PathHalvingUF ufForFullness;
+
+    // Create n-by-n grid, with all bonds blocked
+    public BondPercolation(int n) {
+        if (n < 2) {
+            throw new IllegalArgumentException("Grid must have at least two rows and columns");
+        }
+
+        gridLength = n;
+        horizontalBondsNumber = n * (n - 1);
+        bonds = new BitPackedSites(2 * horizontalBondsNumber);
+
+        int gridSize = (n * n) + 2; // with two virtual sites
+        virtualTopIndex = 0;
+        virtualBottomIndex = (n * n) + 1;
+        ufForPercolation = new PathHalvingUF(gridSize);
+        ufForFullness = new PathHalvingUF(gridSize);
+
+        // sites are always present, so top and bottom rows are connected to virtual sites at once
+        for (int col = 1; col <= gridLength; col++) {
+            int siteTopIndex = col;
+            ufForPercolation.union(virtualTopIndex, siteTopIndex);
+            ufForFullness.union(virtualTopIndex, siteTopIndex);
+
+            int siteBottomIndex = (gridLength * (gridLength - 1)) + col;
+            ufForPercolation.union(virtualBottomIndex, siteBottomIndex);
+        }
+    }
+
+    // Number of bonds
+    public int numberOfBonds()
+    {
+        return 2 * horizontalBondsNumber;
+    }
+
+    // Index of bond between (row, col) and (row, col + 1)
+    public int horizontalBond(int row, int col)
+    {
+        validateBounds(row, col);
+
+        if (col == gridLength) {
+            throw new IndexOutOfBoundsException("Last column has no right bond");
+        }
+
+        return ((row - 1) * (gridLength - 1)) + (col - 1);
+    }
+
+    // Index of bond between (row, col) and (row + 1, col)
+    public int verticalBond(int row, int col)
+    {
+        validateBounds(row, col);
+
+        if (row == gridLength) {
+            throw new IndexOutOfBoundsException("Last row has no bottom bond");
+        }
+
+        return horizontalBondsNumber + ((row - 1) * gridLength) + (col - 1);
+    }
+
+    // Open bond if it is not open already
+    public void open(int bond)
+    {
+        validateBond(bond);
+
+        if (bonds.isOpen(bond)) {
+            return;
+        }
+
+        openBondsNumber++;
+        bonds.open(bond);
+
+        // site indexes of bond ends (shifted by top virtual site)
+        int siteIndex;
+        int neighborIndex;
+
+        if (bond < horizontalBondsNumber) {
+            siteIndex = ((bond / (gridLength - 1)) * gridLength) + (bond % (gridLength - 1)) + 1;
+            neighborIndex = siteIndex + 1;
+        } else {
+            siteIndex = bond - horizontalBondsNumber + 1;
+            neighborIndex = siteIndex + gridLength;
+        }
+
+        ufForPercolation.union(siteIndex, neighborIndex);
+        ufForFullness.union(siteIndex, neighborIndex);
+    }
+
+    // If bond open
+    public boolean isOpen(int bond)
+    {
+        validateBond(bond);
+
+        return bonds.isOpen(bond);
+    }
+
+    // If site (row, col) full (connected to the top row by open bonds)
+    public boolean isFull(int row, int col)
+    {
+        validateBounds(row, col);
+
+        return ufForFullness.connected(virtualTopIndex, ((row - 1) * gridLength) + col);
+    }
+
+    // Number of open bonds
+    public int numberOfOpenBonds()
+    {
+        return openBondsNumber;
+    }
+
+    // If the system percolate
+    public boolean percolates()
+    {
+        return ufForPercolation.connected(virtualTopIndex, virtualBottomIndex);
+    }
+
+    // Check if bond index is in range
+    private void validateBond(int bond)
+    {
+        if (bond < 0 || bond >= 2 * horizontalBondsNumber) {
+            throw new IndexOutOfBoundsException("Bond index is out of bounds");
+        }
+    }
+
+    // Check if row and column values are in range of grid size
+    private void validateBounds(int row, int col)
+    {
+        if (row > gridLength || row < 1) {
+            throw new IndexOutOfBoundsException("Row index is out of bounds");
+        }
+
+        if (col > gridLength || col < 1) {
+            throw new IndexOutOfBoundsException("Column index is out of bounds");
+        }
+    }
+
+    // Test client (optional)
+    public static void main(String[] args)
+    {
+        BondPercolation percolation = new BondPercolation(2);
+
+        StdOut.println("percolates() = " + percolation.percolates());
+        StdOut.println("isFull(2, 1) = " + percolation.isFull(2, 1));
+        StdOut.println("open(verticalBond(1, 1))");
+        percolation.open(percolation.verticalBond(1, 1));
+        StdOut.println("isFull(2, 1) = " + percolation.isFull(2, 1));
+        StdOut.println("isFull(2, 2) = " + percolation.isFull(2, 2));
+        StdOut.println("numberOfOpenBonds() = " + percolation.numberOfOpenBonds());
+        StdOut.println("percolates() = " + percolation.percolates());
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * @author Dima Pasieka
+ */
+public class BondTrial implements PercolationTrial {
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // Bond percolation experiment on an n-by-n grid
+    public BondTrial(int n) {
+        if (n < 2) {
+            throw new IllegalArgumentException("Grid must have at least two rows and columns");
+        }
+
+        gridLength = n;
+    }
+
+    // Open bonds in random order (every step opens a new bond) until the grid percolates,
+    // return fraction of open bonds
+    public double threshold(RandomGenerator random)
+    {
+        BondPercolation percolation = new BondPercolation(gridLength);
+
+        int bondsNumber = percolation.numberOfBonds();
+        int[] order = new int[bondsNumber];
+        for (int i = 0; i < bondsNumber; i++) {
+            order[i] = i;
+        }
+
+        int step = 0;
+        while (!percolation.percolates()) {
+            // Fisher-Yates shuffle step by step, so no need to shuffle bonds after percolation
+            int swapIndex = BoundedRandom.uniform(random, step, bondsNumber);
+            int bond = order[swapIndex];
+            order[swapIndex] = order[step];
+            order[step] = bond;
+            step++;
+
+            percolation.open(bond);
+        }
+
+        return (double) step / bondsNumber;
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Uniform random ints in a range from any RandomGenerator, by Lemire's nearly divisionless
+ * method: high half of 64-bit product of random int and bound, the rejection threshold
+ * (one division) is needed only when the low half falls below the bound.
+ *
+ * @author Dima Pasieka
+ */
+public class BoundedRandom {
+
+    // Static methods only
+    private BoundedRandom() {
+    }
+
+    // Uniform random int in [0, n)
+    public static int uniform(RandomGenerator random, int n)
+    {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Bound must be positive: " + n);
+        }
+
+        long product = (random.nextInt() & 0xFFFFFFFFL) * n;
+        int low = (int) product;
+
+        if (Integer.compareUnsigned(low, n) < 0) {
+            // 2^32 mod n: values of low half below it are rejected so every result is equally likely
+            int threshold = Integer.remainderUnsigned(-n, n);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (random.nextInt() & 0xFFFFFFFFL) * n;
+                low = (int) product;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    // Uniform random int in [lo, hi)
+    public static int uniform(RandomGenerator random, int lo, int hi)
+    {
+        if (lo >= hi) {
+            throw new IllegalArgumentException("Invalid range: [" + lo + ", " + hi + ")");
+        }
+
+        return lo + uniform(random, hi - lo);
+    }
+}
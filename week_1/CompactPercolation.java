@@ -0,0 +1,178 @@
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+
+/**
+ * Percolation with a single union-find and without backwash.
+ * Instead of virtual top and bottom sites every component root keeps
+ * "connected to top" and "connected to bottom" bits.
+ *
+ * Memory per site (PathHalvingUF and WeightedQuickUnionUF keep two int arrays each):
+ *   Percolation        - 2 PathHalvingUF (16 bytes)       + open bit (1/8 byte)  = 16.125 bytes
+ *   CompactPercolation - 1 WeightedQuickUnionUF (8 bytes) + byte state (1 byte)  = 9 bytes
+ * (Percolation with tracked full sites adds a full bit and an int fill queue per site.)
+ *
+ * @author Dima Pasieka
+ */
+public class CompactPercolation {
+
+    // Site is open
+    private static final byte OPEN = 1;
+
+    // Site's component is connected to the top row
+    private static final byte CONNECTED_TO_TOP = 2;
+
+    // Site's component is connected to the bottom row
+    private static final byte CONNECTED_TO_BOTTOM = 4;
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // State bits of all sites (for component roots also top/bottom bits)
+    private byte[] states;
+
+    // Number of open sites
+    private int openSitesNumber;
+
+    // If any component is connected to both top and bottom rows
+    private boolean isPercolated;
+
+    // Weighted quick union-find data structure of open components
+    private WeightedQuickUnionUF uf;
+
+    // Create n-by-n grid, with all sites blocked
+    public CompactPercolation(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        gridLength = n;
+        states = new byte[n * n];
+        openSitesNumber = 0;
+        isPercolated = false;
+        uf = new WeightedQuickUnionUF(n * n);
+    }
+
+    // Open site (row, col) if it is not open already
+    public void open(int row, int col)
+    {
+        int siteIndex = getIndexByRowAndColumn(row, col);
+        if (states[siteIndex] != 0) {
+            return;
+        }
+
+        openSitesNumber++;
+        states[siteIndex] = OPEN;
+
+        byte state = OPEN;
+        if (row == 1) {
+            state |= CONNECTED_TO_TOP;
+        }
+        if (row == gridLength) {
+            state |= CONNECTED_TO_BOTTOM;
+        }
+
+        // connect with left, right, top and bottom neighbors
+        if (col > 1) {
+            state |= connect(siteIndex, siteIndex - 1);
+        }
+        if (col < gridLength) {
+            state |= connect(siteIndex, siteIndex + 1);
+        }
+        if (row > 1) {
+            state |= connect(siteIndex, siteIndex - gridLength);
+        }
+        if (row < gridLength) {
+            state |= connect(siteIndex, siteIndex + gridLength);
+        }
+
+        states[uf.find(siteIndex)] |= state;
+
+        if ((state & CONNECTED_TO_TOP) != 0 && (state & CONNECTED_TO_BOTTOM) != 0) {
+            isPercolated = true;
+        }
+    }
+
+    // If site (row, col) open
+    public boolean isOpen(int row, int col)
+    {
+        int siteIndex = getIndexByRowAndColumn(row, col);
+
+        return states[siteIndex] != 0;
+    }
+
+    // If site (row, col) full
+    public boolean isFull(int row, int col)
+    {
+        int siteIndex = getIndexByRowAndColumn(row, col);
+
+        return (states[siteIndex] != 0 && (states[uf.find(siteIndex)] & CONNECTED_TO_TOP) != 0);
+    }
+
+    // Number of open sites
+    public int numberOfOpenSites()
+    {
+        return openSitesNumber;
+    }
+
+    // If the system percolate
+    public boolean percolates()
+    {
+        return isPercolated;
+    }
+
+    // Union site with open neighbor, return neighbor's component top/bottom bits
+    private byte connect(int siteIndex, int neighborIndex)
+    {
+        if (states[neighborIndex] == 0) {
+            return 0;
+        }
+
+        byte neighborState = states[uf.find(neighborIndex)];
+        uf.union(siteIndex, neighborIndex);
+
+        return neighborState;
+    }
+
+    // Get site"s index to be represented in array
+    private int getIndexByRowAndColumn(int row, int col)
+    {
+        validateBounds(row, col);
+
+        return ((row - 1) * gridLength) + (col - 1);
+    }
+
+    // Check if row and column values are in range of grid size
+    private void validateBounds(int row, int col)
+    {
+        if (row > gridLength || row < 1) {
+            throw new IndexOutOfBoundsException("Row index is out of bounds");
+        }
+
+        if (col > gridLength || col < 1) {
+            throw new IndexOutOfBoundsException("Column index is out of bounds");
+        }
+    }
+
+    // Test client (optional)
+    public static void main(String[] args)
+    {
+        CompactPercolation percolation = new CompactPercolation(3);
+
+        // open path that percolates, then site (3, 3) must not be full (no backwash)
+        percolation.open(1, 1);
+        percolation.open(2, 1);
+        percolation.open(3, 1);
+        percolation.open(3, 3);
+        StdOut.println("percolates() = " + percolation.percolates());
+        StdOut.println("isFull(3, 1) = " + percolation.isFull(3, 1));
+        StdOut.println("isFull(3, 3) = " + percolation.isFull(3, 3));
+        StdOut.println("numberOfOpenSites() = " + percolation.numberOfOpenSites());
+
+        // estimated memory of both implementations
+        long n = (args.length > 0) ? Long.parseLong(args[0]) : 10000;
+        long sites = n * n;
+        long percolationBytes = (sites + 2) * 16 + (sites + 2) / 8;
+        StdOut.println("Percolation (n = " + n + ") ~ " + percolationBytes / (1024 * 1024) + " MB");
+        StdOut.println("CompactPercolation (n = " + n + ") ~ " + (sites * 9) / (1024 * 1024) + " MB");
+    }
+}
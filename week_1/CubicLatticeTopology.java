@@ -0,0 +1,76 @@
+/**
+ * @author Dima Pasieka
+ */
+public class CubicLatticeTopology implements PercolationTopology {
+
+    // Length of the cube side "sideLength * sideLength * sideLength"
+    private int sideLength;
+
+    // Sites in one layer
+    private int layerSize;
+
+    // n-by-n-by-n lattice, site (layer, row, col) is (layer * n * n) + (row * n) + col (all 0 based),
+    // percolation goes from the first layer to the last one
+    public CubicLatticeTopology(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Lattice must have at least one site on a side");
+        }
+
+        if ((long) n * n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Lattice can't have more than " + Integer.MAX_VALUE + " sites");
+        }
+
+        sideLength = n;
+        layerSize = n * n;
+    }
+
+    public int sitesNumber()
+    {
+        return layerSize * sideLength;
+    }
+
+    public int maxDegree()
+    {
+        return 6;
+    }
+
+    public int neighbors(int site, int[] buffer)
+    {
+        int col = site % sideLength;
+        int row = (site / sideLength) % sideLength;
+        int count = 0;
+
+        if (col > 0) {
+            buffer[count++] = site - 1;
+        }
+        if (col < sideLength - 1) {
+            buffer[count++] = site + 1;
+        }
+        if (row > 0) {
+            buffer[count++] = site - sideLength;
+        }
+        if (row < sideLength - 1) {
+            buffer[count++] = site + sideLength;
+        }
+
+        // previous and next layers
+        if (site >= layerSize) {
+            buffer[count++] = site - layerSize;
+        }
+        if (site < layerSize * (sideLength - 1)) {
+            buffer[count++] = site + layerSize;
+        }
+
+        return count;
+    }
+
+    public boolean isTop(int site)
+    {
+        return site < layerSize;
+    }
+
+    public boolean isBottom(int site)
+    {
+        return site >= layerSize * (sideLength - 1);
+    }
+}
@@ -0,0 +1,149 @@
+import edu.princeton.cs.algs4.In;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Arbitrary sparse graph of sites in compressed sparse row (CSR) form.
+ *
+ * @author Dima Pasieka
+ */
+public class GraphTopology implements PercolationTopology {
+
+    // Neighbors of site v are adjacency[offsets[v]] .. adjacency[offsets[v + 1] - 1]
+    private int[] offsets;
+
+    // Neighbors of all sites one after another
+    private int[] adjacency;
+
+    // Max number of neighbors of one site
+    private int maxDegree;
+
+    // Sites connected to the top side
+    private BitPackedSites topSites;
+
+    // Sites connected to the bottom side
+    private BitPackedSites bottomSites;
+
+    // Graph with undirected edges (edgesFrom[i], edgesTo[i]) and provided top and bottom sites
+    public GraphTopology(int sitesNumber, int[] edgesFrom, int[] edgesTo, int[] top, int[] bottom) {
+        if (sitesNumber < 1) {
+            throw new IllegalArgumentException("Graph must have at least one site");
+        }
+
+        if (edgesFrom == null || edgesTo == null || top == null || bottom == null) {
+            throw new NullPointerException("Edges and top/bottom sites can't be null");
+        }
+
+        if (edgesFrom.length != edgesTo.length) {
+            throw new IllegalArgumentException("Edges must have both ends");
+        }
+
+        // count degrees, then turn counts into start offsets
+        offsets = new int[sitesNumber + 1];
+        for (int i = 0; i < edgesFrom.length; i++) {
+            validateSite(edgesFrom[i], sitesNumber);
+            validateSite(edgesTo[i], sitesNumber);
+            offsets[edgesFrom[i] + 1]++;
+            offsets[edgesTo[i] + 1]++;
+        }
+
+        for (int site = 0; site < sitesNumber; site++) {
+            maxDegree = Math.max(maxDegree, offsets[site + 1]);
+            offsets[site + 1] += offsets[site];
+        }
+
+        adjacency = new int[offsets[sitesNumber]];
+        int[] filled = new int[sitesNumber];
+        for (int i = 0; i < edgesFrom.length; i++) {
+            int from = edgesFrom[i];
+            int to = edgesTo[i];
+            adjacency[offsets[from] + filled[from]++] = to;
+            adjacency[offsets[to] + filled[to]++] = from;
+        }
+
+        topSites = markSites(top, sitesNumber);
+        bottomSites = markSites(bottom, sitesNumber);
+    }
+
+    public int sitesNumber()
+    {
+        return offsets.length - 1;
+    }
+
+    public int maxDegree()
+    {
+        return maxDegree;
+    }
+
+    public int neighbors(int site, int[] buffer)
+    {
+        int count = offsets[site + 1] - offsets[site];
+        System.arraycopy(adjacency, offsets[site], buffer, 0, count);
+
+        return count;
+    }
+
+    public boolean isTop(int site)
+    {
+        return topSites.isOpen(site);
+    }
+
+    public boolean isBottom(int site)
+    {
+        return bottomSites.isOpen(site);
+    }
+
+    // Mark provided sites in a bit set
+    private static BitPackedSites markSites(int[] sites, int sitesNumber)
+    {
+        BitPackedSites marked = new BitPackedSites(sitesNumber);
+
+        for (int site: sites) {
+            validateSite(site, sitesNumber);
+            marked.open(site);
+        }
+
+        return marked;
+    }
+
+    // Check if site is in range of graph size
+    private static void validateSite(int site, int sitesNumber)
+    {
+        if (site < 0 || site >= sitesNumber) {
+            throw new IndexOutOfBoundsException("Site index is out of bounds");
+        }
+    }
+
+    // Test client: file with V, E, E pairs of sites, number of top sites and top sites,
+    // number of bottom sites and bottom sites; second argument - number of trials
+    public static void main(String[] args)
+    {
+        In in = new In(args[0]);
+        int sitesNumber = in.readInt();
+
+        int edgesNumber = in.readInt();
+        int[] edgesFrom = new int[edgesNumber];
+        int[] edgesTo = new int[edgesNumber];
+        for (int i = 0; i < edgesNumber; i++) {
+            edgesFrom[i] = in.readInt();
+            edgesTo[i] = in.readInt();
+        }
+
+        int[] top = new int[in.readInt()];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = in.readInt();
+        }
+
+        int[] bottom = new int[in.readInt()];
+        for (int i = 0; i < bottom.length; i++) {
+            bottom[i] = in.readInt();
+        }
+
+        GraphTopology topology = new GraphTopology(sitesNumber, edgesFrom, edgesTo, top, bottom);
+        PercolationStats stats = new PercolationStats(new TopologyTrial(topology), Integer.parseInt(args[1]),
+            0, Runtime.getRuntime().availableProcessors());
+
+        StdOut.println("mean = "+ stats.mean());
+        StdOut.println("stddev = "+ stats.stddev());
+        StdOut.println("95% confidence interval = "+ stats.confidenceLo() + ", " + stats.confidenceHi());
+    }
+}
@@ -0,0 +1,337 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Percolation with site states and union-find kept outside of the java heap,
+ * either in direct byte buffers or in a memory-mapped file.
+ * Uses one union-find with top/bottom bits on component roots (as CompactPercolation),
+ * 6 bytes per site: int parent, byte rank, byte state.
+ * Direct buffers are limited by -XX:MaxDirectMemorySize, mapped file only by disk space.
+ *
+ * @author Dima Pasieka
+ */
+public class OffHeapPercolation {
+
+    // Site is open
+    private static final byte OPEN = 1;
+
+    // Site's component is connected to the top row
+    private static final byte CONNECTED_TO_TOP = 2;
+
+    // Site's component is connected to the bottom row
+    private static final byte CONNECTED_TO_BOTTOM = 4;
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // Parent of each site, stored as (parent index + 1), 0 means site is a root.
+    // So zeroed memory is a valid initial state and nothing has to be initialized
+    private OffHeapArray parents;
+
+    // Rank (upper bound of tree height) of each root
+    private OffHeapArray ranks;
+
+    // State bits of all sites (for component roots also top/bottom bits)
+    private OffHeapArray states;
+
+    // Number of open sites
+    private int openSitesNumber;
+
+    // If any component is connected to both top and bottom rows
+    private boolean isPercolated;
+
+    // Off-heap memory split into chunks (one byte buffer can't be larger than 2GB)
+    private static class OffHeapArray
+    {
+        // Bytes in one chunk (power of two)
+        private static final int CHUNK_SHIFT = 30;
+
+        // Mask to get offset inside of the chunk
+        private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+        // Chunks of memory
+        private ByteBuffer[] chunks;
+
+        // Allocate zeroed direct memory
+        private static OffHeapArray allocate(long bytes)
+        {
+            OffHeapArray array = new OffHeapArray(bytes);
+
+            for (int i = 0; i < array.chunks.length; i++) {
+                array.chunks[i] = ByteBuffer.allocateDirect(chunkLength(bytes, i)).order(ByteOrder.nativeOrder());
+            }
+
+            return array;
+        }
+
+        // Map region of the file starting from position
+        private static OffHeapArray map(FileChannel channel, long position, long bytes) throws IOException
+        {
+            OffHeapArray array = new OffHeapArray(bytes);
+
+            for (int i = 0; i < array.chunks.length; i++) {
+                long chunkPosition = position + ((long) i << CHUNK_SHIFT);
+                array.chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, chunkPosition, chunkLength(bytes, i))
+                    .order(ByteOrder.nativeOrder());
+            }
+
+            return array;
+        }
+
+        private OffHeapArray(long bytes)
+        {
+            chunks = new ByteBuffer[(int) ((bytes + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        }
+
+        // Length of the chunk with provided index
+        private static int chunkLength(long bytes, int chunkIndex)
+        {
+            return (int) Math.min(CHUNK_MASK + 1, bytes - ((long) chunkIndex << CHUNK_SHIFT));
+        }
+
+        private byte get(long offset)
+        {
+            return chunks[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+        }
+
+        private void put(long offset, byte value)
+        {
+            chunks[(int) (offset >>> CHUNK_SHIFT)].put((int) (offset & CHUNK_MASK), value);
+        }
+
+        // Offset must be int aligned, so int never crosses chunks border
+        private int getInt(long offset)
+        {
+            return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+        }
+
+        private void putInt(long offset, int value)
+        {
+            chunks[(int) (offset >>> CHUNK_SHIFT)].putInt((int) (offset & CHUNK_MASK), value);
+        }
+    }
+
+    // Create n-by-n grid, with all sites blocked, in direct (off-heap) memory
+    public OffHeapPercolation(int n) {
+        long sitesNumber = validateGridLength(n);
+
+        gridLength = n;
+        parents = OffHeapArray.allocate(sitesNumber * 4);
+        ranks = OffHeapArray.allocate(sitesNumber);
+        states = OffHeapArray.allocate(sitesNumber);
+    }
+
+    // Create n-by-n grid, with all sites blocked, in a new memory-mapped file
+    public OffHeapPercolation(int n, Path file) {
+        long sitesNumber = validateGridLength(n);
+
+        if (file == null) {
+            throw new NullPointerException("File can't be null");
+        }
+
+        gridLength = n;
+
+        // file must be new, so it's filled with zeros; mapping stays valid after channel is closed
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            parents = OffHeapArray.map(channel, 0, sitesNumber * 4);
+            ranks = OffHeapArray.map(channel, sitesNumber * 4, sitesNumber);
+            states = OffHeapArray.map(channel, sitesNumber * 5, sitesNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't map percolation grid to " + file, e);
+        }
+    }
+
+    // Open site (row, col) if it is not open already
+    public void open(int row, int col)
+    {
+        int siteIndex = getIndexByRowAndColumn(row, col);
+        if (states.get(siteIndex) != 0) {
+            return;
+        }
+
+        openSitesNumber++;
+        states.put(siteIndex, OPEN);
+
+        byte state = OPEN;
+        if (row == 1) {
+            state |= CONNECTED_TO_TOP;
+        }
+        if (row == gridLength) {
+            state |= CONNECTED_TO_BOTTOM;
+        }
+
+        // connect with left, right, top and bottom neighbors
+        if (col > 1) {
+            state |= connect(siteIndex, siteIndex - 1);
+        }
+        if (col < gridLength) {
+            state |= connect(siteIndex, siteIndex + 1);
+        }
+        if (row > 1) {
+            state |= connect(siteIndex, siteIndex - gridLength);
+        }
+        if (row < gridLength) {
+            state |= connect(siteIndex, siteIndex + gridLength);
+        }
+
+        int root = find(siteIndex);
+        states.put(root, (byte) (states.get(root) | state));
+
+        if ((state & CONNECTED_TO_TOP) != 0 && (state & CONNECTED_TO_BOTTOM) != 0) {
+            isPercolated = true;
+        }
+    }
+
+    // If site (row, col) open
+    public boolean isOpen(int row, int col)
+    {
+        int siteIndex = getIndexByRowAndColumn(row, col);
+
+        return states.get(siteIndex) != 0;
+    }
+
+    // If site (row, col) full
+    public boolean isFull(int row, int col)
+    {
+        int siteIndex = getIndexByRowAndColumn(row, col);
+
+        return (states.get(siteIndex) != 0 && (states.get(find(siteIndex)) & CONNECTED_TO_TOP) != 0);
+    }
+
+    // Number of open sites
+    public int numberOfOpenSites()
+    {
+        return openSitesNumber;
+    }
+
+    // If the system percolate
+    public boolean percolates()
+    {
+        return isPercolated;
+    }
+
+    // Union site with open neighbor, return neighbor's component top/bottom bits
+    private byte connect(int siteIndex, int neighborIndex)
+    {
+        if (states.get(neighborIndex) == 0) {
+            return 0;
+        }
+
+        int siteRoot = find(siteIndex);
+        int neighborRoot = find(neighborIndex);
+        byte neighborState = states.get(neighborRoot);
+
+        if (siteRoot == neighborRoot) {
+            return neighborState;
+        }
+
+        // attach lower tree to the root of higher tree
+        byte siteRank = ranks.get(siteRoot);
+        byte neighborRank = ranks.get(neighborRoot);
+
+        if (siteRank < neighborRank) {
+            setParent(siteRoot, neighborRoot);
+            states.put(neighborRoot, (byte) (neighborState | states.get(siteRoot)));
+        } else {
+            setParent(neighborRoot, siteRoot);
+            states.put(siteRoot, (byte) (neighborState | states.get(siteRoot)));
+
+            if (siteRank == neighborRank) {
+                ranks.put(siteRoot, (byte) (siteRank + 1));
+            }
+        }
+
+        return neighborState;
+    }
+
+    // Root of the site's component (with path halving)
+    private int find(int siteIndex)
+    {
+        int parent = parentOf(siteIndex);
+
+        while (parent != siteIndex) {
+            int grandParent = parentOf(parent);
+            setParent(siteIndex, grandParent);
+            siteIndex = grandParent;
+            parent = parentOf(siteIndex);
+        }
+
+        return siteIndex;
+    }
+
+    // Parent of the site (site itself if it's a root)
+    private int parentOf(int siteIndex)
+    {
+        int stored = parents.getInt(siteIndex * 4L);
+
+        return (stored == 0) ? siteIndex : stored - 1;
+    }
+
+    private void setParent(int siteIndex, int parent)
+    {
+        parents.putInt(siteIndex * 4L, parent + 1);
+    }
+
+    // Check grid length, return number of sites
+    private static long validateGridLength(int n)
+    {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        long sitesNumber = (long) n * n;
+        if (sitesNumber > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid can't have more than " + Integer.MAX_VALUE + " sites");
+        }
+
+        return sitesNumber;
+    }
+
+    // Get site"s index to be represented in array
+    private int getIndexByRowAndColumn(int row, int col)
+    {
+        validateBounds(row, col);
+
+        return ((row - 1) * gridLength) + (col - 1);
+    }
+
+    // Check if row and column values are in range of grid size
+    private void validateBounds(int row, int col)
+    {
+        if (row > gridLength || row < 1) {
+            throw new IndexOutOfBoundsException("Row index is out of bounds");
+        }
+
+        if (col > gridLength || col < 1) {
+            throw new IndexOutOfBoundsException("Column index is out of bounds");
+        }
+    }
+
+    // Test client (optional): java OffHeapPercolation n [file]
+    public static void main(String[] args)
+    {
+        int n = Integer.parseInt(args[0]);
+
+        OffHeapPercolation percolation = (args.length > 1)
+            ? new OffHeapPercolation(n, Paths.get(args[1]))
+            : new OffHeapPercolation(n);
+
+        // open sites down the first column until the grid percolates
+        for (int row = 1; !percolation.percolates(); row++) {
+            percolation.open(row, 1);
+        }
+
+        StdOut.println("percolates() = " + percolation.percolates());
+        StdOut.println("isFull(" + n + ", 1) = " + percolation.isFull(n, 1));
+        StdOut.println("numberOfOpenSites() = " + percolation.numberOfOpenSites());
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Weighted (by size) quick union-find with path halving,
+ * on primitive arrays and without bounds validation (callers pass valid indices).
+ *
+ * @author Dima Pasieka
+ */
+public class PathHalvingUF {
+
+    // Parent of each element (root is parent of itself)
+    private int[] parent;
+
+    // Size of the component (valid for roots only)
+    private int[] size;
+
+    // Number of components
+    private int count;
+
+    // Init n elements, each one in its own component
+    public PathHalvingUF(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of elements can't be negative");
+        }
+
+        count = n;
+        parent = new int[n];
+        size = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    // Number of components
+    public int count()
+    {
+        return count;
+    }
+
+    // Root of the component of element p (make every other node on the path point to its grandparent)
+    public int find(int p)
+    {
+        while (p != parent[p]) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+
+        return p;
+    }
+
+    // If elements p and q are in the same component
+    public boolean connected(int p, int q)
+    {
+        return find(p) == find(q);
+    }
+
+    // Merge components of elements p and q, return root of the merged component
+    public int union(int p, int q)
+    {
+        int rootP = find(p);
+        int rootQ = find(q);
+
+        if (rootP == rootQ) {
+            return rootP;
+        }
+
+        count--;
+
+        // attach smaller tree to the root of larger tree
+        if (size[rootP] < size[rootQ]) {
+            parent[rootP] = rootQ;
+            size[rootQ] += size[rootP];
+            return rootQ;
+        }
+
+        parent[rootQ] = rootP;
+        size[rootP] += size[rootQ];
+        return rootP;
+    }
+}
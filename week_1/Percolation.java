@@ -1,5 +1,7 @@
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Dima Pasieka
@@ -9,8 +11,8 @@ public class Percolation {
     // Length of the square grid "gridLength * gridLength"
     private int gridLength;
 
-    // Array representing indexes of all sites (either it"s open or blocked)
-    private boolean[] sites;
+    // Bits representing indexes of all sites (either it"s open or blocked)
+    private BitPackedSites sites;
 
     // Number of open sites
     private int openSitesNumber;
@@ -23,11 +25,27 @@ public class Percolation {
 
     // Weighted quick union-find data structure
     // to calculate percolation
-    private WeightedQuickUnionUF ufForPercolation;
+    private PathHalvingUF ufForPercolation;
 
     // Weighted quick union-find data structure
     // to calculate fullness (without bottom virtual site)
-    private WeightedQuickUnionUF ufForFullness;
+    private PathHalvingUF ufForFullness;
+
+    // Listeners of percolation event
+    private List<PercolationListener> listeners;
+
+    // Listeners of percolation and full sites events
+    private List<PercolationListener> fullSitesListeners;
+
+    // If percolation event was already fired (or grid percolated before listeners were added)
+    private boolean isPercolationNotified;
+
+    // Full sites by site numbers ((row - 1) * n) + (col - 1),
+    // tracked only after trackFullSites() or if there are full sites listeners
+    private BitPackedSites fullSites;
+
+    // Queue of flood-fill, after it - newly full sites
+    private int[] fillQueue;
 
     // Create n-by-n grid, with all sites blocked
     public Percolation(int n) {
@@ -37,17 +55,18 @@ public class Percolation {
 
         gridLength = n;
         int gridSize = (n * n) + 2; // with two virtual sites
-        sites = new boolean[gridSize];
+        sites = new BitPackedSites(gridSize);
         openSitesNumber = 0;
 
         // init and open virtual sites
         virtualTopIndex = 0;
         virtualBottomIndex = (gridLength * gridLength) + 1;
-        sites[virtualTopIndex] = true;
-        sites[virtualBottomIndex] = false;
+        sites.open(virtualTopIndex);
 
-        ufForPercolation = new WeightedQuickUnionUF(gridSize);
-        ufForFullness = new WeightedQuickUnionUF(gridSize);
+        ufForPercolation = new PathHalvingUF(gridSize);
+        ufForFullness = new PathHalvingUF(gridSize);
+        listeners = new ArrayList<>();
+        fullSitesListeners = new ArrayList<>();
 
         // connect top and bottom rows to virtual sites
         for (int col = 1; col <= gridLength; col++) {
@@ -65,41 +84,80 @@ public class Percolation {
     // Open site (row, col) if it is not open already
     public void open(int row, int col)
     {
-        int siteIndex = getIndexByRowAndColumn(row, col);
-        if (sites[siteIndex]) {
-            return;
+        openSite(getIndexByRowAndColumn(row, col));
+    }
+
+    // Open sites (rows[i], cols[i]) in order, return index i after which
+    // the grid percolates for the first time (-1 if it didn't start percolating during this call)
+    public int openAll(int[] rows, int[] cols)
+    {
+        if (rows == null || cols == null) {
+            throw new NullPointerException("Rows and columns can't be null");
         }
 
-        openSitesNumber++;
-        sites[siteIndex] = true;
+        if (rows.length != cols.length) {
+            throw new IllegalArgumentException("Rows and columns must have the same length");
+        }
 
-        // connect with left neighbor
-        if (col > 1 && isOpen(row, col - 1)) {
-            int siteLeftIndex = getIndexByRowAndColumn(row, col - 1);
-            ufForPercolation.union(siteIndex, siteLeftIndex);
-            ufForFullness.union(siteIndex, siteLeftIndex);
+        // validate everything before opening, so invalid input doesn't change the grid
+        for (int i = 0; i < rows.length; i++) {
+            validateBounds(rows[i], cols[i]);
         }
 
-        // connect with right neighbor
-        if (col < gridLength && isOpen(row, col + 1)) {
-            int siteLeftIndex = getIndexByRowAndColumn(row, col + 1);
-            ufForPercolation.union(siteIndex, siteLeftIndex);
-            ufForFullness.union(siteIndex, siteLeftIndex);
+        boolean isPercolated = percolates();
+        int percolationIndex = -1;
+
+        for (int i = 0; i < rows.length; i++) {
+            openSite(((rows[i] - 1) * gridLength) + cols[i]);
+
+            if (!isPercolated && percolates()) {
+                isPercolated = true;
+                percolationIndex = i;
+            }
         }
 
-        // connect with top neighbor
-        if (row > 1 && isOpen(row - 1, col)) {
-            int siteLeftIndex = getIndexByRowAndColumn(row - 1, col);
-            ufForPercolation.union(siteIndex, siteLeftIndex);
-            ufForFullness.union(siteIndex, siteLeftIndex);
+        return percolationIndex;
+    }
+
+    // Open sites by numbers ((row - 1) * n) + (col - 1) in order, return index i after which
+    // the grid percolates for the first time (-1 if it didn't start percolating during this call)
+    public int openAll(int[] siteNumbers)
+    {
+        if (siteNumbers == null) {
+            throw new NullPointerException("Site numbers can't be null");
         }
 
-        // connect with bottom neighbor
-        if (row < gridLength && isOpen(row + 1, col)) {
-            int siteLeftIndex = getIndexByRowAndColumn(row + 1, col);
-            ufForPercolation.union(siteIndex, siteLeftIndex);
-            ufForFullness.union(siteIndex, siteLeftIndex);
+        int sitesNumber = gridLength * gridLength;
+
+        // validate everything before opening, so invalid input doesn't change the grid
+        for (int siteNumber: siteNumbers) {
+            if (siteNumber < 0 || siteNumber >= sitesNumber) {
+                throw new IndexOutOfBoundsException("Site number is out of bounds");
+            }
+        }
+
+        boolean isPercolated = percolates();
+        int percolationIndex = -1;
+
+        for (int i = 0; i < siteNumbers.length; i++) {
+            // site index is shifted by the top virtual site
+            openSite(siteNumbers[i] + 1);
+
+            if (!isPercolated && percolates()) {
+                isPercolated = true;
+                percolationIndex = i;
+            }
         }
+
+        return percolationIndex;
+    }
+
+    // Open site by number ((row - 1) * n) + (col - 1) without bounds validation
+    // (callers pass valid numbers, e.g. trials opening sites of a permutation)
+    public void openUnchecked(int siteNumber)
+    {
+        // site index is shifted by the top virtual site
+        openSite(siteNumber + 1);
     }
 
     // If site (row, col) open
@@ -107,7 +165,7 @@ public class Percolation {
     {
         int siteIndex = getIndexByRowAndColumn(row, col);
 
-        return sites[siteIndex];
+        return sites.isOpen(siteIndex);
     }
 
     // If site (row, col) full
@@ -115,6 +173,10 @@ public class Percolation {
     {
         int siteIndex = getIndexByRowAndColumn(row, col);
 
+        if (fullSites != null) {
+            return fullSites.isOpen(siteIndex - 1);
+        }
+
         return (isOpen(row, col) && ufForFullness.connected(virtualTopIndex, siteIndex));
     }
 
@@ -124,18 +186,219 @@ public class Percolation {
         return openSitesNumber;
     }
 
+    // Number of open sites in the row
+    public int numberOfOpenSites(int row)
+    {
+        int firstIndex = getIndexByRowAndColumn(row, 1);
+
+        return sites.count(firstIndex, firstIndex + gridLength);
+    }
+
+    // Number of open sites in the region from (fromRow, fromCol) to (toRow, toCol) inclusive
+    public int numberOfOpenSites(int fromRow, int fromCol, int toRow, int toCol)
+    {
+        validateBounds(fromRow, fromCol);
+        validateBounds(toRow, toCol);
+
+        if (fromRow > toRow || fromCol > toCol) {
+            throw new IllegalArgumentException("Region start must not be after its end");
+        }
+
+        // full rows are stored one after another, so count them at once
+        if (fromCol == 1 && toCol == gridLength) {
+            return sites.count(getIndexByRowAndColumn(fromRow, 1), getIndexByRowAndColumn(toRow, gridLength) + 1);
+        }
+
+        int count = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            count += sites.count(getIndexByRowAndColumn(row, fromCol), getIndexByRowAndColumn(row, toCol) + 1);
+        }
+
+        return count;
+    }
+
+    // Add listener of percolation event
+    public void addListener(PercolationListener listener)
+    {
+        addListener(listener, false);
+    }
+
+    // Add listener of percolation event and (optionally) of sites which became full
+    public void addListener(PercolationListener listener, boolean withFullSites)
+    {
+        if (listener == null) {
+            throw new NullPointerException("Listener can't be null");
+        }
+
+        if (!isPercolationNotified) {
+            isPercolationNotified = percolates();
+        }
+
+        if (withFullSites) {
+            trackFullSites();
+            fullSitesListeners.add(listener);
+        } else {
+            listeners.add(listener);
+        }
+    }
+
+    // Copy of full sites bits (site i = ((row - 1) * n) + (col - 1) is bit i % 64 of word i / 64),
+    // full sites tracking is started if it's not started yet
+    public long[] fullSitesSnapshot()
+    {
+        trackFullSites();
+
+        return fullSites.toLongArray();
+    }
+
     // If the system percolate
     public boolean percolates()
     {
         // if grid with one site - check if it"s open
         if (gridLength == 1) {
             int siteIndex = getIndexByRowAndColumn(1, 1);
-            return sites[siteIndex];
+            return sites.isOpen(siteIndex);
         }
 
         return ufForPercolation.connected(virtualTopIndex, virtualBottomIndex);
     }
 
+    // Open site by its (already validated) index
+    private void openSite(int siteIndex)
+    {
+        if (sites.isOpen(siteIndex)) {
+            return;
+        }
+
+        openSitesNumber++;
+        sites.open(siteIndex);
+
+        // column offset (0 based) to check left and right borders
+        int colOffset = (siteIndex - 1) % gridLength;
+
+        // connect with left neighbor
+        if (colOffset > 0 && sites.isOpen(siteIndex - 1)) {
+            unionSites(siteIndex, siteIndex - 1);
+        }
+
+        // connect with right neighbor
+        if (colOffset < gridLength - 1 && sites.isOpen(siteIndex + 1)) {
+            unionSites(siteIndex, siteIndex + 1);
+        }
+
+        // connect with top neighbor
+        if (siteIndex > gridLength && sites.isOpen(siteIndex - gridLength)) {
+            unionSites(siteIndex, siteIndex - gridLength);
+        }
+
+        // connect with bottom neighbor
+        if (siteIndex + gridLength < virtualBottomIndex && sites.isOpen(siteIndex + gridLength)) {
+            unionSites(siteIndex, siteIndex + gridLength);
+        }
+
+        if (fullSites != null && ufForFullness.connected(virtualTopIndex, siteIndex)) {
+            notifyFullSites(fill(markFull(siteIndex, 0)));
+        }
+
+        if (!isPercolationNotified && (!listeners.isEmpty() || !fullSitesListeners.isEmpty()) && percolates()) {
+            isPercolationNotified = true;
+            notifyPercolation();
+        }
+    }
+
+    // Start tracking of full sites, so isFull() is a single bit read
+    // and each open() flood-fills only sites which became full
+    public void trackFullSites()
+    {
+        if (fullSites != null) {
+            return;
+        }
+
+        // already full sites are marked without notification
+        fullSites = new BitPackedSites(gridLength * gridLength);
+        fillQueue = new int[gridLength * gridLength];
+
+        int queueSize = 0;
+        for (int siteIndex = 1; siteIndex <= gridLength; siteIndex++) {
+            queueSize = markFull(siteIndex, queueSize);
+        }
+
+        fill(queueSize);
+    }
+
+    // Breadth-first flood-fill of open sites from the sites in the queue, return number of newly full sites
+    private int fill(int queueSize)
+    {
+        for (int head = 0; head < queueSize; head++) {
+            int siteIndex = fillQueue[head];
+            int colOffset = (siteIndex - 1) % gridLength;
+
+            if (colOffset > 0) {
+                queueSize = markFull(siteIndex - 1, queueSize);
+            }
+            if (colOffset < gridLength - 1) {
+                queueSize = markFull(siteIndex + 1, queueSize);
+            }
+            if (siteIndex > gridLength) {
+                queueSize = markFull(siteIndex - gridLength, queueSize);
+            }
+            if (siteIndex + gridLength < virtualBottomIndex) {
+                queueSize = markFull(siteIndex + gridLength, queueSize);
+            }
+        }
+
+        return queueSize;
+    }
+
+    // Mark open and not yet full site as full and add to the queue, return new queue size
+    private int markFull(int siteIndex, int queueSize)
+    {
+        if (!sites.isOpen(siteIndex) || fullSites.isOpen(siteIndex - 1)) {
+            return queueSize;
+        }
+
+        fullSites.open(siteIndex - 1);
+        fillQueue[queueSize] = siteIndex;
+
+        return queueSize + 1;
+    }
+
+    // Notify listeners about newly full sites in the fill queue
+    private void notifyFullSites(int count)
+    {
+        if (fullSitesListeners.isEmpty()) {
+            return;
+        }
+
+        // convert to listener's site numbers (without top virtual site)
+        for (int i = 0; i < count; i++) {
+            fillQueue[i]--;
+        }
+
+        for (PercolationListener listener: fullSitesListeners) {
+            listener.sitesFull(fillQueue, count);
+        }
+    }
+
+    // Notify all listeners that the grid percolates
+    private void notifyPercolation()
+    {
+        for (PercolationListener listener: listeners) {
+            listener.percolated(openSitesNumber);
+        }
+
+        for (PercolationListener listener: fullSitesListeners) {
+            listener.percolated(openSitesNumber);
+        }
+    }
+
+    // Connect two open sites in both union-find data structures
+    private void unionSites(int siteIndex, int neighborIndex)
+    {
+        ufForPercolation.union(siteIndex, neighborIndex);
+        ufForFullness.union(siteIndex, neighborIndex);
+    }
+
     // Get site"s index to be represented in array
     private int getIndexByRowAndColumn(int row, int col)
     {
@@ -189,5 +452,8 @@ public class Percolation {
         StdOut.println("isFull(1, 1) = " + percolation.isFull(1, 1));
         StdOut.println("numberOfOpenSites() = " + percolation.numberOfOpenSites());
         StdOut.println("percolates() = " + percolation.percolates());
+
+        StdOut.println("numberOfOpenSites(1) = " + percolation.numberOfOpenSites(1));
+        StdOut.println("numberOfOpenSites(1, 1, 2, 1) = " + percolation.numberOfOpenSites(1, 1, 2, 1));
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+/**
+ * @author Dima Pasieka
+ */
+public interface PercolationListener {
+
+    // Grid percolates for the first time, openSitesNumber - number of open sites at that moment
+    void percolated(int openSitesNumber);
+
+    // Sites became full after one open() call: first count elements of sites array,
+    // each site is ((row - 1) * n) + (col - 1). Array is reused, so copy it to keep values
+    default void sitesFull(int[] sites, int count)
+    {
+    }
+}
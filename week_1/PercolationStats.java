@@ -1,30 +1,37 @@
 import edu.princeton.cs.algs4.StdOut;
 import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
 
 /**
  * @author Dima Pasieka
  */
 public class PercolationStats {
 
-    // Number of independent experiments on an n-by-n grid
-    private int trials;
+    // Minimum number of trials before early stop (stddev of a few trials is not reliable)
+    private static final int MIN_TRIALS_TO_STOP = 30;
+
+    // Standard normal quantile for 95% confidence
+    private static final double CONFIDENCE_95 = 1.96;
 
-    // Store all threshold results
-    private double[] thresholdList;
+    // Mean and stddev of all threshold results (in constant memory)
+    private RunningStats thresholdStats;
 
     // Perform trials independent experiments on an n-by-n grid
     public PercolationStats(int n, int trials) {
-        if (n < 1) {
-            throw new IllegalArgumentException("Grid must have at least one row and column");
-        }
+        validateArguments(n, trials);
 
-        if (trials < 1) {
-            throw new IllegalArgumentException("You must run percolation at least once");
-        }
-
-        this.trials = trials;
-        thresholdList = new double[trials];
+        thresholdStats = new RunningStats();
 
         for (int i = 0; i < trials; i++) {
             Percolation percolation = new Percolation(n);
@@ -36,42 +43,313 @@ public class PercolationStats {
                 percolation.open(row, col);
             }
 
-            thresholdList[i] = (double) percolation.numberOfOpenSites() / (n * n);
+            thresholdStats.add((double) percolation.numberOfOpenSites() / (n * n));
+        }
+    }
+
+    // Perform trials independent experiments of provided kind one by one using provided generator
+    // (any generator, e.g. ThreadLocalRandom.current() or seeded L64X128MixRandom)
+    public PercolationStats(PercolationTrial trial, int trials, RandomGenerator random) {
+        if (trial == null) {
+            throw new NullPointerException("Trial can't be null");
+        }
+
+        if (random == null) {
+            throw new NullPointerException("Random generator can't be null");
+        }
+
+        if (trials < 1) {
+            throw new IllegalArgumentException("You must run percolation at least once");
+        }
+
+        thresholdStats = new RunningStats();
+
+        for (int i = 0; i < trials; i++) {
+            thresholdStats.add(trial.threshold(random));
+        }
+    }
+
+    // Perform trials independent experiments on an n-by-n grid in parallel
+    // on a fork-join pool with provided parallelism level
+    public PercolationStats(int n, int trials, long seed, int parallelism) {
+        this(new RandomSiteTrial(n), trials, seed, parallelism);
+    }
+
+    // Perform trials independent experiments on an n-by-n grid in parallel
+    // on provided executor (executor is not shut down)
+    public PercolationStats(int n, int trials, long seed, ExecutorService executor) {
+        this(new RandomSiteTrial(n), trials, seed, executor);
+    }
+
+    // Perform trials independent experiments of provided kind in parallel
+    // on a fork-join pool with provided parallelism level
+    public PercolationStats(PercolationTrial trial, int trials, long seed, int parallelism) {
+        this(trial, trials, new SplittableRandom(seed), parallelism);
+    }
+
+    // Perform trials independent experiments of provided kind in parallel
+    // on a fork-join pool with provided parallelism level, trials use generators split
+    // from the provided one (e.g. seeded SplittableRandom or L64X128MixRandom)
+    public PercolationStats(PercolationTrial trial, int trials, RandomGenerator.SplittableGenerator random,
+                            int parallelism) {
+        if (random == null) {
+            throw new NullPointerException("Random generator can't be null");
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least one");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            runParallelTrials(trial, trials, 0, random, pool, trials, null);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Perform up to maxTrials experiments of provided kind in parallel, stop as soon as
+    // half-width of 95% confidence interval is not more than precision
+    // (result depends only on the seed, not on parallelism level)
+    public PercolationStats(PercolationTrial trial, int maxTrials, double precision, long seed, int parallelism) {
+        if (!(precision > 0)) {
+            throw new IllegalArgumentException("Precision must be positive");
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least one");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            runParallelTrials(trial, maxTrials, precision, new SplittableRandom(seed), pool, parallelism, null);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Perform trials independent experiments of provided kind in parallel
+    // on provided executor (executor is not shut down)
+    public PercolationStats(PercolationTrial trial, int trials, long seed, ExecutorService executor) {
+        if (executor == null) {
+            throw new NullPointerException("Executor can't be null");
+        }
+
+        runParallelTrials(trial, trials, 0, new SplittableRandom(seed), executor, trials, null);
+    }
+
+    // Perform trials independent experiments of named kind (see createTrial) on an n-by-n grid
+    // in parallel, saving completed thresholds to the checkpoint file after every batch of
+    // parallelism trials. If the file already has results of the run with the same seed,
+    // grid size and trial, only the rest of trials is performed
+    public PercolationStats(String trialName, int n, int trials, long seed, int parallelism, Path checkpointFile) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least one");
+        }
+
+        PercolationTrial trial = createTrial(trialName, n);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (TrialsCheckpoint checkpoint = new TrialsCheckpoint(checkpointFile, seed, n, trialName)) {
+            runParallelTrials(trial, trials, 0, new SplittableRandom(seed), pool, parallelism, checkpoint);
+        } finally {
+            pool.shutdown();
         }
     }
 
+    // Number of performed experiments
+    public int numberOfTrials()
+    {
+        return (int) thresholdStats.count();
+    }
+
     // Sample mean of percolation threshold
     public double mean()
     {
-        return StdStats.mean(thresholdList);
+        return thresholdStats.mean();
     }
 
     // Sample standard deviation of percolation threshold
     public double stddev()
     {
-        return StdStats.stddev(thresholdList);
+        return thresholdStats.stddev();
     }
 
     // Low  endpoint of 95% confidence interval
     public double confidenceLo()
     {
-        return mean() - (1.96 * stddev() / Math.sqrt(trials));
+        return mean() - confidenceHalfWidth();
     }
 
     // High endpoint of 95% confidence interval
     public double confidenceHi()
     {
-        return mean() + (1.96 * stddev() / Math.sqrt(trials));
+        return mean() + confidenceHalfWidth();
+    }
+
+    // Half-width of 95% confidence interval
+    private double confidenceHalfWidth()
+    {
+        return CONFIDENCE_95 * stddev() / Math.sqrt(thresholdStats.count());
+    }
+
+    // If enough trials are done to reach precision (non-positive precision - never)
+    private boolean isPrecise(double precision)
+    {
+        return precision > 0
+            && thresholdStats.count() >= MIN_TRIALS_TO_STOP
+            && confidenceHalfWidth() <= precision;
+    }
+
+    // Run trials on executor in batches, each trial gets its own random generator
+    // split from seedRandom in trials order, so results don't depend on threads scheduling.
+    // Results are accumulated in trials order until precision is reached,
+    // trials restored from checkpoint (if any) are not performed again
+    private void runParallelTrials(PercolationTrial trial, int trials, double precision,
+                                   RandomGenerator.SplittableGenerator seedRandom,
+                                   ExecutorService executor, int batchSize, TrialsCheckpoint checkpoint)
+    {
+        if (trial == null) {
+            throw new NullPointerException("Trial can't be null");
+        }
+
+        if (trials < 1) {
+            throw new IllegalArgumentException("You must run percolation at least once");
+        }
+
+        thresholdStats = new RunningStats();
+
+        int startedTrials = 0;
+
+        if (checkpoint != null) {
+            startedTrials = checkpoint.restore(thresholdStats, trials);
+
+            // skip random streams of restored trials
+            for (int i = 0; i < startedTrials; i++) {
+                seedRandom.split();
+            }
+        }
+
+        int tasksNumber = Math.min(trials, batchSize);
+        List<Callable<Double>> tasks = new ArrayList<>(tasksNumber);
+        double[] batchThresholds = new double[tasksNumber];
+        boolean isDone = isPrecise(precision);
+
+        try {
+            while (!isDone && startedTrials < trials) {
+                tasks.clear();
+
+                int batchEnd = Math.min(trials, startedTrials + batchSize);
+                for (; startedTrials < batchEnd; startedTrials++) {
+                    RandomGenerator random = seedRandom.split();
+                    tasks.add(() -> trial.threshold(random));
+                }
+
+                int completedTrials = 0;
+                for (Future<Double> result: executor.invokeAll(tasks)) {
+                    batchThresholds[completedTrials] = result.get();
+                    thresholdStats.add(batchThresholds[completedTrials]);
+                    completedTrials++;
+
+                    if (isPrecise(precision)) {
+                        isDone = true;
+                        break;
+                    }
+                }
+
+                if (checkpoint != null) {
+                    checkpoint.append(batchThresholds, completedTrials);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Percolation trials were interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Percolation trial failed", e.getCause());
+        }
+    }
+
+    // Check if grid size and number of trials are valid
+    private static void validateArguments(int n, int trials)
+    {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        if (trials < 1) {
+            throw new IllegalArgumentException("You must run percolation at least once");
+        }
+    }
+
+    // Create trial by its name: "random" (default), "permutation", "bisection",
+    // "cylinder" (grid with wrapped columns), "cubic" (n-by-n-by-n lattice) or "bond" (bond percolation)
+    private static PercolationTrial createTrial(String name, int n)
+    {
+        switch (name) {
+            case "random":
+                return new RandomSiteTrial(n);
+            case "permutation":
+                return new PermutationTrial(n);
+            case "bisection":
+                return new BisectionTrial(n);
+            case "cylinder":
+                return new TopologyTrial(new SquareGridTopology(n, true));
+            case "cubic":
+                return new TopologyTrial(new CubicLatticeTopology(n));
+            case "bond":
+                return new BondTrial(n);
+            default:
+                throw new IllegalArgumentException("Unknown trial: " + name);
+        }
     }
 
-    // Test client
+    // Test client (optional arguments - seed, parallelism, trial name and one mode:
+    // "precision <p>" to stop early or "checkpoint <file>" to save and resume results;
+    // modes can't be combined, as restored thresholds aren't checked for precision one by one)
     public static void main(String[] args)
     {
         int gridLength = Integer.parseInt(args[0]);
         int trials = Integer.parseInt(args[1]);
 
-        PercolationStats stats = new PercolationStats(gridLength, trials);
+        PercolationStats stats;
+        if (args.length > 2) {
+            long seed = Long.parseLong(args[2]);
+            int parallelism = (args.length > 3)
+                ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+            String trialName = (args.length > 4) ? args[4] : "random";
+            String mode = (args.length > 5) ? args[5] : "";
+
+            if (!mode.isEmpty() && args.length < 7) {
+                throw new IllegalArgumentException("Mode " + mode + " needs a value");
+            }
+
+            if (args.length > 7) {
+                throw new IllegalArgumentException("Usage: n trials [seed [parallelism [trial "
+                    + "[precision <p> | checkpoint <file>]]]] (precision and checkpoint can't be combined)");
+            }
+
+            switch (mode) {
+                case "":
+                    stats = new PercolationStats(createTrial(trialName, gridLength), trials, seed, parallelism);
+                    break;
+                case "precision":
+                    double precision = Double.parseDouble(args[6]);
+                    stats = new PercolationStats(createTrial(trialName, gridLength), trials, precision, seed,
+                        parallelism);
+                    break;
+                case "checkpoint":
+                    stats = new PercolationStats(trialName, gridLength, trials, seed, parallelism,
+                        Paths.get(args[6]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown mode: " + mode);
+            }
+        } else {
+            stats = new PercolationStats(gridLength, trials);
+        }
 
+        StdOut.println("trials = "+ stats.numberOfTrials());
         StdOut.println("mean = "+ stats.mean());
         StdOut.println("stddev = "+ stats.stddev());
         StdOut.println("95% confidence interval = "+ stats.confidenceLo() + ", " + stats.confidenceHi());
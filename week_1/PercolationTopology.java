@@ -0,0 +1,23 @@
+/**
+ * Sites and their neighbors for percolation, sites are numbered from 0 to sitesNumber() - 1.
+ * Implementations must be immutable, so one topology can be shared by parallel trials.
+ *
+ * @author Dima Pasieka
+ */
+public interface PercolationTopology {
+
+    // Number of sites
+    int sitesNumber();
+
+    // Max number of neighbors of one site (size of buffer for neighbors())
+    int maxDegree();
+
+    // Write neighbors of the site to buffer, return their number
+    int neighbors(int site, int[] buffer);
+
+    // If site is connected to the top (source) side
+    boolean isTop(int site);
+
+    // If site is connected to the bottom (sink) side
+    boolean isBottom(int site);
+}
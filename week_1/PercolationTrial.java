@@ -0,0 +1,10 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * @author Dima Pasieka
+ */
+public interface PercolationTrial {
+
+    // Run one independent experiment using provided random stream, return percolation threshold
+    double threshold(RandomGenerator random);
+}
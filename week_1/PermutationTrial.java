@@ -0,0 +1,46 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * @author Dima Pasieka
+ */
+public class PermutationTrial implements PercolationTrial {
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // Experiment on an n-by-n grid
+    public PermutationTrial(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        gridLength = n;
+    }
+
+    // Open sites in random order (every step opens a new site) until the grid percolates
+    public double threshold(RandomGenerator random)
+    {
+        Percolation percolation = new Percolation(gridLength);
+
+        int sitesNumber = gridLength * gridLength;
+        int[] order = new int[sitesNumber];
+        for (int i = 0; i < sitesNumber; i++) {
+            order[i] = i;
+        }
+
+        int step = 0;
+        while (!percolation.percolates()) {
+            // Fisher-Yates shuffle step by step, so no need to shuffle sites after percolation
+            int swapIndex = BoundedRandom.uniform(random, step, sitesNumber);
+            int site = order[swapIndex];
+            order[swapIndex] = order[step];
+            order[step] = site;
+            step++;
+
+            // permutation gives valid and distinct sites, so bounds aren't validated
+            percolation.openUnchecked(site);
+        }
+
+        return (double) step / sitesNumber;
+    }
+}
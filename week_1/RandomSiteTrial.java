@@ -0,0 +1,34 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * @author Dima Pasieka
+ */
+public class RandomSiteTrial implements PercolationTrial {
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // Experiment on an n-by-n grid
+    public RandomSiteTrial(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        gridLength = n;
+    }
+
+    // Open random sites (already open sites can be drawn again) until the grid percolates
+    public double threshold(RandomGenerator random)
+    {
+        Percolation percolation = new Percolation(gridLength);
+
+        while (!percolation.percolates()) {
+            int row = BoundedRandom.uniform(random, 1, gridLength + 1);
+            int col = BoundedRandom.uniform(random, 1, gridLength + 1);
+
+            percolation.open(row, col);
+        }
+
+        return (double) percolation.numberOfOpenSites() / (gridLength * gridLength);
+    }
+}
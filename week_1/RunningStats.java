@@ -0,0 +1,48 @@
+/**
+ * Mean and standard deviation of a stream of values in constant memory (Welford's algorithm).
+ *
+ * @author Dima Pasieka
+ */
+public class RunningStats {
+
+    // Number of values
+    private long count;
+
+    // Mean of values
+    private double mean;
+
+    // Sum of squared differences from the mean
+    private double squaredDeviationsSum;
+
+    // Add next value
+    public void add(double value)
+    {
+        count++;
+
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviationsSum += delta * (value - mean);
+    }
+
+    // Number of values
+    public long count()
+    {
+        return count;
+    }
+
+    // Sample mean (NaN if there are no values)
+    public double mean()
+    {
+        return (count == 0) ? Double.NaN : mean;
+    }
+
+    // Sample standard deviation (NaN if there are less than two values)
+    public double stddev()
+    {
+        if (count < 2) {
+            return Double.NaN;
+        }
+
+        return Math.sqrt(squaredDeviationsSum / (count - 1));
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * @author Dima Pasieka
+ */
+public class SquareGridTopology implements PercolationTopology {
+
+    // Length of the square grid "gridLength * gridLength"
+    private int gridLength;
+
+    // If left and right columns are neighbors (grid is wrapped into a cylinder,
+    // top and bottom rows stay borders to percolate between)
+    private boolean isWrapped;
+
+    // n-by-n grid, site (row, col) is ((row - 1) * n) + (col - 1)
+    public SquareGridTopology(int n, boolean isWrapped) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+
+        gridLength = n;
+        this.isWrapped = isWrapped;
+    }
+
+    public int sitesNumber()
+    {
+        return gridLength * gridLength;
+    }
+
+    public int maxDegree()
+    {
+        return 4;
+    }
+
+    public int neighbors(int site, int[] buffer)
+    {
+        int col = site % gridLength;
+        int count = 0;
+
+        // left and right neighbors
+        if (col > 0) {
+            buffer[count++] = site - 1;
+        } else if (isWrapped && gridLength > 2) {
+            buffer[count++] = site + gridLength - 1;
+        }
+
+        if (col < gridLength - 1) {
+            buffer[count++] = site + 1;
+        } else if (isWrapped && gridLength > 2) {
+            buffer[count++] = site - gridLength + 1;
+        }
+
+        // top and bottom neighbors
+        if (site >= gridLength) {
+            buffer[count++] = site - gridLength;
+        }
+
+        if (site < gridLength * (gridLength - 1)) {
+            buffer[count++] = site + gridLength;
+        }
+
+        return count;
+    }
+
+    public boolean isTop(int site)
+    {
+        return site < gridLength;
+    }
+
+    public boolean isBottom(int site)
+    {
+        return site >= gridLength * (gridLength - 1);
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Site percolation on any topology, with the same engine as Percolation:
+ * two union-finds with virtual top and bottom sites (one of them without bottom, to avoid backwash).
+ *
+ * @author Dima Pasieka
+ */
+public class TopologyPercolation {
+
+    // Sites and their neighbors
+    private PercolationTopology topology;
+
+    // Bits representing all sites (either it"s open or blocked)
+    private BitPackedSites sites;
+
+    // Number of open sites
+    private int openSitesNumber;
+
+    // Index of the top virtual site (has value sitesNumber)
+    private int virtualTopIndex;
+
+    // Index of the bottom virtual site (has value sitesNumber + 1)
+    private int virtualBottomIndex;
+
+    // Weighted quick union-find data structure
+    // to calculate percolation
+    private PathHalvingUF ufForPercolation;
+
+    // Weighted quick union-find data structure
+    // to calculate fullness (without bottom virtual site)
+    private PathHalvingUF ufForFullness;
+
+    // Buffer for neighbors of the opened site
+    private int[] neighbors;
+
+    // Create topology with all sites blocked
+    public TopologyPercolation(PercolationTopology topology) {
+        if (topology == null) {
+            throw new NullPointerException("Topology can't be null");
+        }
+
+        this.topology = topology;
+        int sitesNumber = topology.sitesNumber();
+
+        sites = new BitPackedSites(sitesNumber);
+        virtualTopIndex = sitesNumber;
+        virtualBottomIndex = sitesNumber + 1;
+        ufForPercolation = new PathHalvingUF(sitesNumber + 2);
+        ufForFullness = new PathHalvingUF(sitesNumber + 2);
+        neighbors = new int[topology.maxDegree()];
+    }
+
+    // Open site if it is not open already
+    public void open(int site)
+    {
+        validateSite(site);
+
+        if (sites.isOpen(site)) {
+            return;
+        }
+
+        openSitesNumber++;
+        sites.open(site);
+
+        if (topology.isTop(site)) {
+            ufForPercolation.union(site, virtualTopIndex);
+            ufForFullness.union(site, virtualTopIndex);
+        }
+
+        if (topology.isBottom(site)) {
+            ufForPercolation.union(site, virtualBottomIndex);
+        }
+
+        int neighborsNumber = topology.neighbors(site, neighbors);
+        for (int i = 0; i < neighborsNumber; i++) {
+            if (sites.isOpen(neighbors[i])) {
+                ufForPercolation.union(site, neighbors[i]);
+                ufForFullness.union(site, neighbors[i]);
+            }
+        }
+    }
+
+    // If site open
+    public boolean isOpen(int site)
+    {
+        validateSite(site);
+
+        return sites.isOpen(site);
+    }
+
+    // If site full
+    public boolean isFull(int site)
+    {
+        validateSite(site);
+
+        return sites.isOpen(site) && ufForFullness.connected(virtualTopIndex, site);
+    }
+
+    // Number of open sites
+    public int numberOfOpenSites()
+    {
+        return openSitesNumber;
+    }
+
+    // If the system percolate
+    public boolean percolates()
+    {
+        return ufForPercolation.connected(virtualTopIndex, virtualBottomIndex);
+    }
+
+    // Check if site is in range of topology size
+    private void validateSite(int site)
+    {
+        if (site < 0 || site >= virtualTopIndex) {
+            throw new IndexOutOfBoundsException("Site index is out of bounds");
+        }
+    }
+}
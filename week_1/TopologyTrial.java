@@ -0,0 +1,49 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * @author Dima Pasieka
+ */
+public class TopologyTrial implements PercolationTrial {
+
+    // Sites and their neighbors (shared by all trials)
+    private PercolationTopology topology;
+
+    // Experiment on provided topology
+    public TopologyTrial(PercolationTopology topology) {
+        if (topology == null) {
+            throw new NullPointerException("Topology can't be null");
+        }
+
+        this.topology = topology;
+    }
+
+    // Open sites in random order (every step opens a new site) until the system percolates
+    public double threshold(RandomGenerator random)
+    {
+        TopologyPercolation percolation = new TopologyPercolation(topology);
+
+        int sitesNumber = topology.sitesNumber();
+        int[] order = new int[sitesNumber];
+        for (int i = 0; i < sitesNumber; i++) {
+            order[i] = i;
+        }
+
+        int step = 0;
+        while (!percolation.percolates()) {
+            if (step == sitesNumber) {
+                throw new IllegalArgumentException("Topology doesn't percolate even with all sites open");
+            }
+
+            // Fisher-Yates shuffle step by step, so no need to shuffle sites after percolation
+            int swapIndex = BoundedRandom.uniform(random, step, sitesNumber);
+            int site = order[swapIndex];
+            order[swapIndex] = order[step];
+            order[step] = site;
+            step++;
+
+            percolation.open(site);
+        }
+
+        return (double) step / sitesNumber;
+    }
+}
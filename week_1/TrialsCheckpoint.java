@@ -0,0 +1,219 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only binary log of completed trial thresholds, to resume long PercolationStats runs.
+ * Format (version 2): int magic, int version, long seed, int grid size, short length and UTF-8 bytes of
+ * trial name, then one double per completed trial (in trials order). Random state is not
+ * stored as is: trial i always uses the i-th stream split from the seed, so it is restored
+ * by skipping the streams of completed trials. A file of another version, seed, grid size
+ * or trial is rejected, as its thresholds belong to another run.
+ *
+ * @author Dima Pasieka
+ */
+public class TrialsCheckpoint implements AutoCloseable {
+
+    // Marker of checkpoint files ("PCS2"), since version 2
+    private static final int MAGIC = 0x50435332;
+
+    // Marker of version 1 files ("PCST"), they had no version field and were written
+    // with random streams before RandomGenerator trials, so they can't be resumed
+    private static final int MAGIC_V1 = 0x50435354;
+
+    // Format version, changed whenever header or random streams of trials change
+    private static final int VERSION = 2;
+
+    // Bytes of magic and version
+    private static final int PREFIX_BYTES = Integer.BYTES + Integer.BYTES;
+
+    // Thresholds read at once during restore
+    private static final int READ_BATCH = 8192;
+
+    // Checkpoint file
+    private FileChannel channel;
+
+    // Bytes of header (thresholds start after it)
+    private final int headerBytes;
+
+    // Open existing checkpoint (it must be created by the same version with the same seed,
+    // grid size and trial name) or create a new one
+    public TrialsCheckpoint(Path file, long seed, int n, String trialName) {
+        if (file == null) {
+            throw new NullPointerException("Checkpoint file can't be null");
+        }
+
+        if (trialName == null) {
+            throw new NullPointerException("Trial name can't be null");
+        }
+
+        byte[] name = trialName.getBytes(StandardCharsets.UTF_8);
+        if (name.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Trial name is too long");
+        }
+
+        headerBytes = PREFIX_BYTES + Long.BYTES + Integer.BYTES + Short.BYTES + name.length;
+
+        try {
+            channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(headerBytes)
+                    .putInt(MAGIC).putInt(VERSION).putLong(seed).putInt(n).putShort((short) name.length).put(name);
+                header.flip();
+                writeFully(header, 0);
+                channel.force(true);
+            } else {
+                checkHeader(file, seed, n, name);
+
+                // drop partly written threshold (if process was killed during write)
+                long records = (channel.size() - headerBytes) / Double.BYTES;
+                channel.truncate(headerBytes + (records * Double.BYTES));
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Can't open checkpoint " + file, e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // Add up to maxTrials saved thresholds to stats (in trials order), return number of added thresholds
+    public int restore(RunningStats stats, int maxTrials)
+    {
+        try {
+            long records = (channel.size() - headerBytes) / Double.BYTES;
+            int count = (int) Math.min(records, maxTrials);
+
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BATCH * Double.BYTES);
+            for (int restored = 0; restored < count; ) {
+                int batch = Math.min(READ_BATCH, count - restored);
+
+                buffer.clear().limit(batch * Double.BYTES);
+                readFully(buffer, headerBytes + ((long) restored * Double.BYTES));
+                buffer.flip();
+
+                for (int i = 0; i < batch; i++) {
+                    stats.add(buffer.getDouble());
+                }
+                restored += batch;
+            }
+
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read checkpoint", e);
+        }
+    }
+
+    // Append first count thresholds and flush them to disk
+    public void append(double[] thresholds, int count)
+    {
+        if (count == 0) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(count * Double.BYTES);
+        for (int i = 0; i < count; i++) {
+            buffer.putDouble(thresholds[i]);
+        }
+        buffer.flip();
+
+        try {
+            writeFully(buffer, channel.size());
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write checkpoint", e);
+        }
+    }
+
+    // Close checkpoint file
+    public void close()
+    {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't close checkpoint", e);
+        }
+    }
+
+    // Fail if existing file isn't a checkpoint of this version, seed, grid size and trial
+    private void checkHeader(Path file, long seed, int n, byte[] name) throws IOException
+    {
+        if (channel.size() < PREFIX_BYTES) {
+            throw new IllegalArgumentException(file + " is not a trials checkpoint");
+        }
+
+        ByteBuffer prefix = ByteBuffer.allocate(PREFIX_BYTES);
+        readFully(prefix, 0);
+        prefix.flip();
+
+        int magic = prefix.getInt();
+        if (magic == MAGIC_V1) {
+            throw new IllegalArgumentException(file + " was created by checkpoint version 1");
+        }
+
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException(file + " is not a trials checkpoint");
+        }
+
+        if (prefix.getInt() != VERSION) {
+            throw new IllegalArgumentException(file + " was created by another checkpoint version");
+        }
+
+        if (channel.size() < headerBytes) {
+            throw new IllegalArgumentException(file + " was created for another trial");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerBytes - PREFIX_BYTES);
+        readFully(header, PREFIX_BYTES);
+        header.flip();
+
+        if (header.getLong() != seed) {
+            throw new IllegalArgumentException(file + " was created with another seed");
+        }
+
+        if (header.getInt() != n) {
+            throw new IllegalArgumentException(file + " was created for another grid size");
+        }
+
+        byte[] savedName = new byte[header.getShort()];
+        if (savedName.length != name.length) {
+            throw new IllegalArgumentException(file + " was created for another trial");
+        }
+        header.get(savedName);
+        if (!Arrays.equals(savedName, name)) {
+            throw new IllegalArgumentException(file + " was created for another trial");
+        }
+    }
+
+    // Read from position until buffer is full
+    private void readFully(ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of checkpoint");
+            }
+            position += read;
+        }
+    }
+
+    // Write whole buffer from position
+    private void writeFully(ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
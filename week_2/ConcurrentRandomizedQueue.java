@@ -0,0 +1,405 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe randomized queue on striped sub-queues (each with own lock),
+ * so threads working on different stripes don't contend.
+ *
+ * Uniformity: enqueue puts item to a random stripe. dequeue/sample read size M of the
+ * largest stripe (without locks), then pick a random stripe, lock it and accept it with
+ * probability size / M (else pick again) and take a uniform item of the stripe.
+ * So every item in the queue at the moment of taking is taken with the same probability
+ * 1/(stripes * M) per attempt, i.e. uniformly, as long as no stripe grew above M after
+ * the read (removals by other threads don't break it). If a stripe grew from M to m
+ * items because of concurrent enqueue, its items are taken with probability M/m of the
+ * other items (so deviation is bounded by the growth of the largest stripe during a call).
+ *
+ * Rejection takes stripes * M / size attempts on average, that is many when the queue is
+ * nearly empty, so after stripes rejected attempts the stripe is picked with probability
+ * of its size by one more scan of stripe sizes (uniform too if sizes don't change meanwhile).
+ * A call reads stripe sizes O(stripes) times, not once per attempt.
+ *
+ * @author Dima Pasieka
+ */
+public class ConcurrentRandomizedQueue<Item> implements Iterable<Item>
+{
+    // Stripes per available processor by default
+    private static final int STRIPES_PER_PROCESSOR = 4;
+
+    // Sub-queues
+    private final Stripe<Item>[] stripes;
+
+    // Sub-queue: random removal from array, guarded by its own monitor
+    private static final class Stripe<Item>
+    {
+        // Items in stripe
+        private Item[] items = (Item[]) new Object[2];
+
+        // Stripe size, read without lock by scans of stripe sizes
+        private volatile int size;
+
+        // Add the item
+        private synchronized void add(Item item)
+        {
+            if (size == items.length) {
+                resizeItems(items.length * 2);
+            }
+
+            items[size] = item;
+            size++;
+        }
+
+        // Remove and return uniform random item if stripe is accepted
+        // with probability size / maxSize, else return null
+        private synchronized Item tryRemove(ThreadLocalRandom random, int maxSize)
+        {
+            if (size == 0 || random.nextInt(Math.max(maxSize, size)) >= size) {
+                return null;
+            }
+
+            int index = random.nextInt(size);
+            Item item = items[index];
+
+            // replace taken element with last one
+            items[index] = items[size - 1];
+            items[size - 1] = null;
+            size--;
+
+            if (size > 0 && (size == items.length / 4)) {
+                resizeItems(items.length / 2);
+            }
+
+            return item;
+        }
+
+        // Return uniform random item if stripe is accepted
+        // with probability size / maxSize, else return null
+        private synchronized Item trySample(ThreadLocalRandom random, int maxSize)
+        {
+            if (size == 0 || random.nextInt(Math.max(maxSize, size)) >= size) {
+                return null;
+            }
+
+            return items[random.nextInt(size)];
+        }
+
+        // Copy items to array from position, return position after them
+        private synchronized int copyTo(Object[] array, int position)
+        {
+            int count = Math.min(size, array.length - position);
+            System.arraycopy(items, 0, array, position, count);
+
+            return position + count;
+        }
+
+        // Resize items array
+        private void resizeItems(int length)
+        {
+            Item[] newItems = (Item[]) new Object[length];
+            System.arraycopy(items, 0, newItems, 0, size);
+            items = newItems;
+        }
+    }
+
+    // Queue iterator over shuffled copy of items
+    private class ConcurrentRandomizedQueueIterator implements Iterator<Item>
+    {
+        // Copied items in random order
+        private final Object[] itemsCopy;
+
+        // Number of copied items
+        private final int sizeCopy;
+
+        // Index of next item
+        private int current;
+
+        // Init with copy of stripes (each stripe copied atomically, not the whole queue)
+        private ConcurrentRandomizedQueueIterator()
+        {
+            Object[] copy = new Object[size()];
+            int position = 0;
+            for (Stripe<Item> stripe: stripes) {
+                position = stripe.copyTo(copy, position);
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = position - 1; i > 0; i--) {
+                int swapIndex = random.nextInt(i + 1);
+                Object item = copy[swapIndex];
+                copy[swapIndex] = copy[i];
+                copy[i] = item;
+            }
+
+            itemsCopy = copy;
+            sizeCopy = position;
+        }
+
+        public boolean hasNext()
+        {
+            return (current < sizeCopy);
+        }
+
+        public Item next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+
+            Item item = (Item) itemsCopy[current];
+            current++;
+
+            return item;
+        }
+    }
+
+    // Construct an empty queue with stripes for available processors
+    public ConcurrentRandomizedQueue()
+    {
+        this(STRIPES_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+    }
+
+    // Construct an empty queue with provided number of stripes
+    public ConcurrentRandomizedQueue(int stripesNumber) {
+        if (stripesNumber < 1) {
+            throw new IllegalArgumentException("Queue must have at least one stripe");
+        }
+
+        stripes = (Stripe<Item>[]) new Stripe<?>[stripesNumber];
+        for (int i = 0; i < stripesNumber; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    // If the queue empty (may be outdated at once if other threads use it)
+    public boolean isEmpty()
+    {
+        for (Stripe<Item> stripe: stripes) {
+            if (stripe.size > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Return the number of items on the queue (may be outdated at once if other threads use it)
+    public int size()
+    {
+        int size = 0;
+        for (Stripe<Item> stripe: stripes) {
+            size += stripe.size;
+        }
+
+        return size;
+    }
+
+    // Add the item
+    public void enqueue(Item item)
+    {
+        if (item == null) {
+            throw new NullPointerException("Can't add empty element to queue");
+        }
+
+        stripes[ThreadLocalRandom.current().nextInt(stripes.length)].add(item);
+    }
+
+    // Remove and return a random item
+    public Item dequeue()
+    {
+        Item item = poll();
+        if (item == null) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+
+        return item;
+    }
+
+    // Remove and return a random item or null if the queue is empty
+    public Item poll()
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            int maxSize = maxStripeSize();
+            if (maxSize == 0) {
+                return null;
+            }
+
+            for (int attempt = 0; attempt < stripes.length; attempt++) {
+                Item item = stripes[random.nextInt(stripes.length)].tryRemove(random, maxSize);
+                if (item != null) {
+                    return item;
+                }
+            }
+
+            // max size 0 accepts any non-empty stripe
+            Stripe<Item> stripe = sizeWeightedStripe(random);
+            Item item = (stripe == null) ? null : stripe.tryRemove(random, 0);
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    // Return (but do not remove) a random item
+    public Item sample()
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            int maxSize = maxStripeSize();
+            if (maxSize == 0) {
+                throw new NoSuchElementException("Queue is empty");
+            }
+
+            for (int attempt = 0; attempt < stripes.length; attempt++) {
+                Item item = stripes[random.nextInt(stripes.length)].trySample(random, maxSize);
+                if (item != null) {
+                    return item;
+                }
+            }
+
+            // max size 0 accepts any non-empty stripe
+            Stripe<Item> stripe = sizeWeightedStripe(random);
+            Item item = (stripe == null) ? null : stripe.trySample(random, 0);
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    // Return an independent iterator over items in random order
+    // (copy of items, each stripe is copied atomically)
+    public Iterator<Item> iterator()
+    {
+        return new ConcurrentRandomizedQueueIterator();
+    }
+
+    // Size of the largest stripe (read without locks)
+    private int maxStripeSize()
+    {
+        int maxSize = 0;
+        for (Stripe<Item> stripe: stripes) {
+            maxSize = Math.max(maxSize, stripe.size);
+        }
+
+        return maxSize;
+    }
+
+    // Stripe picked with probability of its size (sizes read without locks),
+    // null if stripes became empty during the scan
+    private Stripe<Item> sizeWeightedStripe(ThreadLocalRandom random)
+    {
+        int size = size();
+        if (size == 0) {
+            return null;
+        }
+
+        int index = random.nextInt(size);
+        for (Stripe<Item> stripe: stripes) {
+            index -= stripe.size;
+            if (index < 0) {
+                return stripe;
+            }
+        }
+
+        return null;
+    }
+
+    // Unit testing: uniformity of dequeue and multi-threaded stress test.
+    // Args: [threads [items]]
+    public static void main(String[] args) throws InterruptedException
+    {
+        int threadsNumber = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int itemsNumber = (args.length > 1) ? Integer.parseInt(args[1]) : 1000000;
+
+        // first dequeued of 10 items, stripes have different sizes
+        int n = 10;
+        int samples = 200000;
+        int[] frequency = new int[n];
+        for (int s = 0; s < samples; s++) {
+            ConcurrentRandomizedQueue<Integer> queue = new ConcurrentRandomizedQueue<>(4);
+            for (int i = 0; i < n; i++) {
+                queue.enqueue(i);
+            }
+
+            frequency[queue.dequeue()]++;
+        }
+
+        double chiSquared = 0;
+        double expected = (double) samples / n;
+        for (int count: frequency) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+        StdOut.printf("First dequeued of %d items: chi-squared = %.1f (%d degrees of freedom)%n",
+            n, chiSquared, n - 1);
+
+        // few items in many stripes, so most dequeues finish by size-weighted pick
+        n = 3;
+        frequency = new int[n];
+        for (int s = 0; s < samples; s++) {
+            ConcurrentRandomizedQueue<Integer> queue = new ConcurrentRandomizedQueue<>(64);
+            for (int i = 0; i < n; i++) {
+                queue.enqueue(i);
+            }
+
+            frequency[queue.dequeue()]++;
+        }
+
+        chiSquared = 0;
+        expected = (double) samples / n;
+        for (int count: frequency) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+        StdOut.printf("First dequeued of %d items in 64 stripes: chi-squared = %.1f (%d degrees of freedom)%n",
+            n, chiSquared, n - 1);
+
+        // producers and consumers, each item must be taken exactly once
+        ConcurrentRandomizedQueue<Integer> queue = new ConcurrentRandomizedQueue<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(itemsNumber);
+        AtomicLong takenNumber = new AtomicLong();
+
+        Thread[] threads = new Thread[threadsNumber * 2];
+        for (int t = 0; t < threadsNumber; t++) {
+            int producer = t;
+            threads[t] = new Thread(() -> {
+                for (int i = producer; i < itemsNumber; i += threadsNumber) {
+                    queue.enqueue(i);
+                }
+            });
+            threads[threadsNumber + t] = new Thread(() -> {
+                while (takenNumber.get() < itemsNumber) {
+                    Integer item = queue.poll();
+                    if (item != null) {
+                        taken.incrementAndGet(item);
+                        takenNumber.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        for (Thread thread: threads) {
+            thread.start();
+        }
+        for (Thread thread: threads) {
+            thread.join();
+        }
+
+        int wrong = 0;
+        for (int i = 0; i < itemsNumber; i++) {
+            if (taken.get(i) != 1) {
+                wrong++;
+            }
+        }
+
+        StdOut.println("Items taken not exactly once: " + wrong + " of " + itemsNumber);
+        if (wrong != 0) {
+            throw new IllegalStateException("Each item must be taken exactly once");
+        }
+    }
+}
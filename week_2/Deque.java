@@ -1,7 +1,14 @@
 import edu.princeton.cs.algs4.StdOut;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Dima Pasieka
@@ -17,6 +24,9 @@ public class Deque<Item> implements Iterable<Item>
     // Last element of the Deque
     private Node<Item> last;
 
+    // Number of changes, so iterators detect changes made after their creation
+    private int modCount;
+
     // Deque element/item
     private class Node<Item>
     {
@@ -31,10 +41,14 @@ public class Deque<Item> implements Iterable<Item>
         // Current iterable element
         private Node<Item> current;
 
+        // Deque modCount at creation
+        private final int expectedModCount;
+
         // Init with first element to start from
         private DequeIterator(Node<Item> item)
         {
             current = item;
+            expectedModCount = modCount;
         }
 
         public boolean hasNext()
@@ -44,6 +58,10 @@ public class Deque<Item> implements Iterable<Item>
 
         public Item next()
         {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Deque was changed during iteration");
+            }
+
             if (!hasNext()) {
                 throw new NoSuchElementException("No more elements");
             }
@@ -55,6 +73,112 @@ public class Deque<Item> implements Iterable<Item>
         }
     }
 
+    // Deque spliterator: nodes can't be split in the middle,
+    // so front items are copied to array batches (of growing size) for other threads
+    private class DequeSpliterator implements Spliterator<Item>
+    {
+        // Batch size increment
+        private static final int BATCH_UNIT = 1 << 10;
+
+        // Max batch size
+        private static final int MAX_BATCH = 1 << 25;
+
+        // Next element
+        private Node<Item> current;
+
+        // Number of remaining elements
+        private int remaining;
+
+        // Size of last split batch
+        private int batch;
+
+        // Deque modCount at creation
+        private final int expectedModCount;
+
+        private DequeSpliterator()
+        {
+            current = first;
+            remaining = size;
+            expectedModCount = modCount;
+        }
+
+        public boolean tryAdvance(Consumer<? super Item> action)
+        {
+            if (action == null) {
+                throw new NullPointerException("Action can't be null");
+            }
+
+            checkModCount();
+
+            if (remaining == 0) {
+                return false;
+            }
+
+            Item item = current.item;
+            current = current.next;
+            remaining--;
+
+            action.accept(item);
+
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super Item> action)
+        {
+            if (action == null) {
+                throw new NullPointerException("Action can't be null");
+            }
+
+            // changes by action are checked before each item (nodes may be already unlinked)
+            for (; remaining > 0 && modCount == expectedModCount; remaining--) {
+                Item item = current.item;
+                current = current.next;
+                action.accept(item);
+            }
+
+            checkModCount();
+        }
+
+        public Spliterator<Item> trySplit()
+        {
+            checkModCount();
+
+            if (remaining <= 1) {
+                return null;
+            }
+
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+            Object[] items = new Object[n];
+            for (int i = 0; i < n; i++) {
+                items[i] = current.item;
+                current = current.next;
+            }
+
+            remaining -= n;
+            batch = n;
+
+            return Spliterators.spliterator(items, 0, n, characteristics());
+        }
+
+        public long estimateSize()
+        {
+            return remaining;
+        }
+
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+
+        // Fail if deque was changed after creation
+        private void checkModCount()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Deque was changed during iteration");
+            }
+        }
+    }
+
     // Construct an empty deque
     public Deque()
     {
@@ -95,6 +219,7 @@ public class Deque<Item> implements Iterable<Item>
 
         first = newItem;
         size++;
+        modCount++;
     }
 
     // Add the item to the end
@@ -117,6 +242,7 @@ public class Deque<Item> implements Iterable<Item>
 
         last = newItem;
         size++;
+        modCount++;
     }
 
     // Remove and return the item from the front
@@ -135,6 +261,7 @@ public class Deque<Item> implements Iterable<Item>
         } else {
             first.previous = null;
         }
+        modCount++;
 
         return item;
     }
@@ -155,6 +282,7 @@ public class Deque<Item> implements Iterable<Item>
         } else {
             last.next = null;
         }
+        modCount++;
 
         return item;
     }
@@ -165,6 +293,24 @@ public class Deque<Item> implements Iterable<Item>
         return new DequeIterator<>(first);
     }
 
+    // Return a fail-fast spliterator over items in order from front to end
+    public Spliterator<Item> spliterator()
+    {
+        return new DequeSpliterator();
+    }
+
+    // Return a sequential stream of items in order from front to end
+    public Stream<Item> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Return a parallel stream of items in order from front to end
+    public Stream<Item> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     // Unit testing
     public static void main(String[] args)
     {
@@ -204,5 +350,15 @@ public class Deque<Item> implements Iterable<Item>
         for (String item: deque) {
             StdOut.println("Iterate element: " + item);
         }
+
+        StdOut.println("Joined by parallel stream: '" + deque.parallelStream().collect(Collectors.joining()) + "'");
+
+        try {
+            for (String item: deque) {
+                deque.addLast(item);
+            }
+        } catch (ConcurrentModificationException e) {
+            StdOut.println("Change during iteration: " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * Deque of long values on a circular long array (power of two capacity), without boxing.
+ * Array only grows, so adding and removing don't allocate once capacity is reached.
+ *
+ * @author Dima Pasieka
+ */
+public class LongDeque
+{
+    // Min capacity of values array (power of two)
+    private static final int MIN_CAPACITY = 8;
+
+    // Values in deque, from head position (wrapped around the end of array)
+    private long[] values;
+
+    // Position of the first value
+    private int head;
+
+    // Deque size
+    private int size;
+
+    // Construct an empty deque
+    public LongDeque()
+    {
+        this(MIN_CAPACITY);
+    }
+
+    // Construct an empty deque with place for capacity values
+    public LongDeque(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative");
+        }
+
+        values = new long[capacityFor(capacity)];
+        head = 0;
+        size = 0;
+    }
+
+    // If the deque empty
+    public boolean isEmpty()
+    {
+        return (size == 0);
+    }
+
+    // Return the number of values on the deque
+    public int size()
+    {
+        return size;
+    }
+
+    // Add the value to the front
+    public void addFirst(long value)
+    {
+        if (size == values.length) {
+            resizeValues(values.length * 2);
+        }
+
+        head = (head - 1) & (values.length - 1);
+        values[head] = value;
+        size++;
+    }
+
+    // Add the value to the end
+    public void addLast(long value)
+    {
+        if (size == values.length) {
+            resizeValues(values.length * 2);
+        }
+
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    // Remove and return the value from the front
+    public long removeFirst()
+    {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+
+        long value = values[head];
+        head = (head + 1) & (values.length - 1);
+        size--;
+
+        return value;
+    }
+
+    // Remove and return the value from the end
+    public long removeLast()
+    {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+
+        size--;
+
+        return values[(head + size) & (values.length - 1)];
+    }
+
+    // Remove all values (capacity is kept)
+    public void clear()
+    {
+        head = 0;
+        size = 0;
+    }
+
+    // Pass values to action in order from front to end
+    public void forEach(LongConsumer action)
+    {
+        if (action == null) {
+            throw new NullPointerException("Action can't be null");
+        }
+
+        int mask = values.length - 1;
+        for (int i = 0; i < size; i++) {
+            action.accept(values[(head + i) & mask]);
+        }
+    }
+
+    // Power of two capacity not less than required one
+    private static int capacityFor(int capacity)
+    {
+        if (capacity <= MIN_CAPACITY) {
+            return MIN_CAPACITY;
+        }
+
+        int power = Integer.highestOneBit(capacity - 1) << 1;
+        if (power <= 0) {
+            throw new IllegalArgumentException("Capacity is too large: " + capacity);
+        }
+
+        return power;
+    }
+
+    // Resize values array, values are moved to start from position 0
+    private void resizeValues(int length)
+    {
+        if (length <= 0) {
+            throw new IllegalStateException("Deque is too large");
+        }
+
+        long[] newValues = new long[length];
+
+        // values from head to the end of array, then wrapped ones from the start
+        int headPart = Math.min(size, values.length - head);
+        System.arraycopy(values, head, newValues, 0, headPart);
+        System.arraycopy(values, 0, newValues, headPart, size - headPart);
+
+        values = newValues;
+        head = 0;
+    }
+
+    // Unit testing
+    public static void main(String[] args)
+    {
+        LongDeque deque = new LongDeque();
+
+        for (int i = 1; i <= 5; i++) {
+            deque.addLast(i);
+            StdOut.println("addLast() with: " + i);
+        }
+
+        deque.addFirst(0);
+        StdOut.println("addFirst() with: 0");
+
+        StdOut.println("removeFirst(): " + deque.removeFirst());
+        StdOut.println("removeLast(): " + deque.removeLast());
+
+        StdOut.println("Iterating deque...");
+        deque.forEach(value -> StdOut.println("Iterate value: " + value));
+    }
+}
@@ -1,15 +1,37 @@
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
 /**
+ * Print k random input tokens.
+ * Args: k [reservoir [file]]. Default mode keeps all tokens in RandomizedQueue,
+ * reservoir mode keeps only k tokens (for inputs too large for memory) and reads
+ * the file (or standard input) through NIO channel with own char buffer.
+ *
  * @author Dima Pasieka
  */
 public class Permutation
 {
+    // Chars read from input at once
+    private static final int BUFFER_SIZE = 1 << 16;
+
     public static void main(String[] args)
     {
         int count = Integer.parseInt(args[0]);
 
+        if (args.length > 1 && args[1].equals("reservoir")) {
+            printReservoirSample(count, (args.length > 2) ? args[2] : null);
+            return;
+        }
+
         RandomizedQueue<String> queue = new RandomizedQueue<>();
 
         while (!StdIn.isEmpty()) {
@@ -21,4 +43,58 @@ public class Permutation
             StdOut.println(queue.dequeue());
         }
     }
-}
\ No newline at end of file
+
+    // Print count random tokens of file (standard input if file is null) in O(count) memory
+    private static void printReservoirSample(int count, String file)
+    {
+        ReservoirSampler<String> sampler = new ReservoirSampler<>(count);
+
+        try (ReadableByteChannel channel = (file == null)
+                ? Channels.newChannel(System.in)
+                : FileChannel.open(Paths.get(file));
+             Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8)) {
+
+            char[] buffer = new char[BUFFER_SIZE];
+            StringBuilder token = new StringBuilder();
+
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    if (Character.isWhitespace(buffer[i])) {
+                        if (token.length() > 0) {
+                            addToken(sampler, token);
+                        }
+                    } else {
+                        token.append(buffer[i]);
+                    }
+                }
+            }
+
+            if (token.length() > 0) {
+                addToken(sampler, token);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read " + ((file == null) ? "standard input" : file), e);
+        }
+
+        if (sampler.size() < count) {
+            throw new IllegalArgumentException("Input has only " + sampler.size() + " tokens");
+        }
+
+        for (String item: sampler) {
+            StdOut.println(item);
+        }
+    }
+
+    // Offer token to sampler (string is created only for sampled tokens) and clear it
+    private static void addToken(ReservoirSampler<String> sampler, StringBuilder token)
+    {
+        if (sampler.isNextSampled()) {
+            sampler.add(token.toString());
+        } else {
+            sampler.skip();
+        }
+
+        token.setLength(0);
+    }
+}
@@ -1,8 +1,11 @@
 import edu.princeton.cs.algs4.StdOut;
 import edu.princeton.cs.algs4.StdRandom;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * @author Dima Pasieka
@@ -15,6 +18,12 @@ public class RandomizedQueue<Item> implements Iterable<Item>
     // RandomizedQueue size
     private int size;
 
+    // Number of changes, so view iterators detect changes made after their creation
+    private int modCount;
+
+    // Generator of random positions (null - global StdRandom)
+    private final RandomGenerator random;
+
     // RandomizedQueue Iterator
     private class RandomizedQueueIterator implements Iterator<Item>
     {
@@ -46,7 +55,7 @@ public class RandomizedQueue<Item> implements Iterable<Item>
                 throw new NoSuchElementException("No more elements");
             }
 
-            int index = StdRandom.uniform(sizeCopy);
+            int index = uniform(sizeCopy);
             Item item = itemsCopy[index];
 
             // replace taken element with last one
@@ -58,6 +67,117 @@ public class RandomizedQueue<Item> implements Iterable<Item>
         }
     }
 
+    // RandomizedQueue iterator without copy of items: visits positions [0, size) in order of
+    // a keyed pseudo-random bijection (Feistel network over power of two domain, values
+    // not less than size are skipped by cycle walking), so creation is O(1) time and memory.
+    // Order is pseudo-random (not every permutation is possible), iterator is fail-fast.
+    private class PermutationIterator implements Iterator<Item>
+    {
+        // Rounds of Feistel network (small domains need more than 4 rounds to look random)
+        private static final int ROUNDS = 8;
+
+        // Difference of keys of consecutive rounds (golden ratio)
+        private static final int KEY_STEP = 0x9e3779b9;
+
+        // Min bits of domain value
+        private static final int MIN_BITS = 6;
+
+        // Key of the first round
+        private final int key;
+
+        // If values 0 and 1 are swapped after Feistel rounds: xor rounds give only
+        // even permutations, so a transposition is needed to get odd ones
+        private final boolean isOdd;
+
+        // Bits of high and low parts of domain value (domain is 2^(highBits + lowBits) >= size)
+        private final int highBits;
+        private final int lowBits;
+
+        // Next domain value to permute
+        private int counter;
+
+        // Number of already returned items
+        private int returned;
+
+        // Queue modCount at creation
+        private final int expectedModCount;
+
+        private PermutationIterator()
+        {
+            key = uniform(Integer.MAX_VALUE);
+            isOdd = (uniform(2) == 1);
+
+            // less than 2 * size domain values, so cycle walking takes < 2 steps on average
+            // (but parts of a few bits are too small for random looking rounds)
+            int bits = Math.max(MIN_BITS, 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1)));
+            lowBits = (bits + 1) / 2;
+            highBits = bits - lowBits;
+
+            expectedModCount = modCount;
+        }
+
+        public boolean hasNext()
+        {
+            return (returned < size);
+        }
+
+        public Item next()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Queue was changed during iteration");
+            }
+
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+
+            int index;
+            do {
+                index = permute(counter);
+                counter++;
+            } while (index < 0 || index >= size);
+
+            returned++;
+
+            return items[index];
+        }
+
+        // Keyed bijection of [0, 2^bits): Feistel rounds (unbalanced if bits is odd),
+        // each round changes one part by function of the other, so it can be reversed
+        private int permute(int value)
+        {
+            int high = value >>> lowBits;
+            int low = value & ((1 << lowBits) - 1);
+
+            int roundKey = key;
+            for (int round = 0; round < ROUNDS; round += 2) {
+                high ^= mix(low ^ roundKey) >>> (32 - highBits);
+                roundKey += KEY_STEP;
+                low ^= mix(high ^ roundKey) >>> (32 - lowBits);
+                roundKey += KEY_STEP;
+            }
+
+            int permuted = (high << lowBits) | low;
+            if (isOdd && (permuted >>> 1) == 0) {
+                permuted ^= 1;
+            }
+
+            return permuted;
+        }
+
+        // Round function (murmur3 finalizer), its high bits are used as the best mixed ones
+        private int mix(int value)
+        {
+            value ^= value >>> 16;
+            value *= 0x85ebca6b;
+            value ^= value >>> 13;
+            value *= 0xc2b2ae35;
+            value ^= value >>> 16;
+
+            return value;
+        }
+    }
+
     // Construct an empty randomized queue
     public RandomizedQueue()
     {
@@ -65,6 +185,21 @@ public class RandomizedQueue<Item> implements Iterable<Item>
 
         items = (Item[]) new Object[defaultItemsSize];
         size = 0;
+        random = null;
+    }
+
+    // Construct an empty randomized queue using own generator (e.g. seeded SplittableRandom,
+    // L64X128MixRandom or ThreadLocalRandom.current() if the queue is used by one thread)
+    public RandomizedQueue(RandomGenerator random) {
+        if (random == null) {
+            throw new NullPointerException("Random generator can't be null");
+        }
+
+        int defaultItemsSize = 2;
+
+        items = (Item[]) new Object[defaultItemsSize];
+        size = 0;
+        this.random = random;
     }
 
     // If the queue empty
@@ -92,6 +227,7 @@ public class RandomizedQueue<Item> implements Iterable<Item>
 
         items[size] = item;
         size++;
+        modCount++;
     }
 
     // Remove and return a random item
@@ -101,13 +237,14 @@ public class RandomizedQueue<Item> implements Iterable<Item>
             throw new NoSuchElementException("Queue is empty");
         }
 
-        int index = StdRandom.uniform(size);
+        int index = uniform(size);
         Item item = items[index];
 
         // replace taken element with last one
         items[index] = items[size - 1];
         items[size - 1] = null;
         size--;
+        modCount++;
 
         if (size > 0 && (size == items.length / 4)) {
             resizeItems(items.length / 2);
@@ -123,17 +260,113 @@ public class RandomizedQueue<Item> implements Iterable<Item>
             throw new NoSuchElementException("Queue is empty");
         }
 
-        int index = StdRandom.uniform(size);
+        int index = uniform(size);
 
         return items[index];
     }
 
+    // Remove k random items into result[0..k) (partial Fisher-Yates, items array
+    // is resized at most once for the whole batch)
+    public void dequeue(int k, Item[] result)
+    {
+        checkBatch(k, result);
+
+        for (int i = 0; i < k; i++) {
+            int index = uniform(size);
+            result[i] = items[index];
+
+            // replace taken element with last one
+            items[index] = items[size - 1];
+            items[size - 1] = null;
+            size--;
+        }
+        modCount++;
+
+        int length = items.length;
+        while (size > 0 && (size <= length / 4)) {
+            length /= 2;
+        }
+
+        if (length != items.length) {
+            resizeItems(length);
+        }
+    }
+
+    // Put k distinct random items into result[0..k) without removal (partial Fisher-Yates:
+    // taken items are swapped to the front, so the items array is reordered and view
+    // iterators created before fail)
+    public void sample(int k, Item[] result)
+    {
+        checkBatch(k, result);
+
+        boolean isReordered = false;
+        for (int i = 0; i < k; i++) {
+            int index = i + uniform(size - i);
+            Item item = items[index];
+            items[index] = items[i];
+            items[i] = item;
+
+            result[i] = item;
+            isReordered |= (index != i);
+        }
+
+        if (isReordered) {
+            modCount++;
+        }
+    }
+
     // Return an independent iterator over items in random order
     public Iterator<Item> iterator()
     {
         return new RandomizedQueueIterator();
     }
 
+    // Return an iterator over items in pseudo-random order without copying items
+    // (O(1) creation, must not outlive changes of the queue)
+    public Iterator<Item> viewIterator()
+    {
+        return new PermutationIterator();
+    }
+
+    // Uniform random int in [0, n) from own generator by Lemire's nearly divisionless method
+    // (high half of 64-bit product of random int and n, rejection threshold needs a division
+    // only when the low half falls below n) or from StdRandom
+    private int uniform(int n)
+    {
+        if (random == null) {
+            return StdRandom.uniform(n);
+        }
+
+        long product = (random.nextInt() & 0xFFFFFFFFL) * n;
+        int low = (int) product;
+
+        if (Integer.compareUnsigned(low, n) < 0) {
+            int threshold = Integer.remainderUnsigned(-n, n);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (random.nextInt() & 0xFFFFFFFFL) * n;
+                low = (int) product;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    // Check batch size and result array of batch dequeue and sample
+    private void checkBatch(int k, Item[] result)
+    {
+        if (result == null) {
+            throw new NullPointerException("Result array can't be null");
+        }
+
+        if (k < 0 || k > result.length) {
+            throw new IllegalArgumentException("Batch size must be in [0, " + result.length + "]: " + k);
+        }
+
+        if (k > size) {
+            throw new NoSuchElementException("Queue has only " + size + " items");
+        }
+    }
+
     // Resize items array
     private void resizeItems(int length) {
         Item[] newItems = (Item[]) new Object[length];
@@ -184,5 +417,44 @@ public class RandomizedQueue<Item> implements Iterable<Item>
         for (String item: queue) {
             StdOut.println("Iterate element: " + item);
         }
+
+        StdOut.println("Iterating queue without copy...");
+        Iterator<String> view = queue.viewIterator();
+        while (view.hasNext()) {
+            StdOut.println("Iterate element: " + view.next());
+        }
+
+        RandomizedQueue<String> seeded = new RandomizedQueue<>(new SplittableRandom(42));
+        for (String item: queue) {
+            seeded.enqueue(item);
+        }
+
+        String[] batch = new String[3];
+        seeded.sample(batch.length, batch);
+        StdOut.println("sample(3): " + String.join(", ", batch));
+
+        seeded.dequeue(batch.length, batch);
+        StdOut.println("dequeue(3): " + String.join(", ", batch));
+
+        // sample(k) reorders items, so view iterator created before must fail (even for k = 1)
+        Iterator<String> reordered = seeded.viewIterator();
+        reordered.next();
+        boolean isDetected = false;
+        for (int i = 0; i < 100 && !isDetected; i++) {
+            seeded.sample(1, batch);
+            try {
+                reordered.next();
+                reordered = seeded.viewIterator();
+                reordered.next();
+            } catch (ConcurrentModificationException e) {
+                isDetected = true;
+            }
+        }
+        StdOut.println("View iterator detects sample(1) reordering: " + isDetected);
+
+        StdOut.println("Dequeue from queue with seeded generator...");
+        while (!seeded.isEmpty()) {
+            StdOut.println("dequeue(): " + seeded.dequeue());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Uniform random sample of k items from a stream of unknown length in O(k) memory
+ * (reservoir sampling, Algorithm L: number of items to skip before next replacement
+ * is drawn from geometric distribution, so random numbers are used O(k log(n/k)) times).
+ *
+ * @author Dima Pasieka
+ */
+public class ReservoirSampler<Item> implements Iterable<Item>
+{
+    // Sampled items
+    private Item[] reservoir;
+
+    // Number of sampled items
+    private int size;
+
+    // Number of seen items
+    private long seen;
+
+    // Number (1-based) of the next seen item to put in reservoir
+    private long next;
+
+    // Algorithm L weight (max of k uniform random numbers)
+    private double weight;
+
+    // Sample iterator
+    private class ReservoirIterator implements Iterator<Item>
+    {
+        // Sampled items in random order
+        private Object[] sample;
+
+        // Index of next item
+        private int current;
+
+        // Init with shuffled copy of reservoir
+        private ReservoirIterator()
+        {
+            sample = new Object[size];
+            System.arraycopy(reservoir, 0, sample, 0, size);
+            StdRandom.shuffle(sample);
+        }
+
+        public boolean hasNext()
+        {
+            return (current < sample.length);
+        }
+
+        public Item next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+
+            Item item = (Item) sample[current];
+            current++;
+
+            return item;
+        }
+    }
+
+    // Construct a sampler of k items
+    public ReservoirSampler(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Sample size can't be negative");
+        }
+
+        reservoir = (Item[]) new Object[k];
+        size = 0;
+        seen = 0;
+
+        // empty reservoir never takes items, only counts them
+        if (k == 0) {
+            next = Long.MAX_VALUE;
+        } else {
+            next = k + 1;
+            weight = Math.exp(Math.log(openUniform()) / k);
+            next += skipLength();
+        }
+    }
+
+    // Offer next stream item
+    public void add(Item item)
+    {
+        if (item == null) {
+            throw new NullPointerException("Can't add empty element to sample");
+        }
+
+        seen++;
+
+        if (size < reservoir.length) {
+            reservoir[size] = item;
+            size++;
+            return;
+        }
+
+        if (seen == next) {
+            reservoir[StdRandom.uniform(size)] = item;
+
+            weight *= Math.exp(Math.log(openUniform()) / reservoir.length);
+            next += skipLength() + 1;
+        }
+    }
+
+    // If the next offered item goes to reservoir (so callers create only such items)
+    public boolean isNextSampled()
+    {
+        return (size < reservoir.length || seen + 1 == next);
+    }
+
+    // Count the next stream item without creating it (it must be not sampled)
+    public void skip()
+    {
+        if (isNextSampled()) {
+            throw new IllegalStateException("Next item is sampled, it must be added");
+        }
+
+        seen++;
+    }
+
+    // Number of sampled items (min of k and number of seen items)
+    public int size()
+    {
+        return size;
+    }
+
+    // Number of seen items
+    public long seen()
+    {
+        return seen;
+    }
+
+    // Return an iterator over sampled items in random order
+    public Iterator<Item> iterator()
+    {
+        return new ReservoirIterator();
+    }
+
+    // Number of items to skip before the next replacement
+    private long skipLength()
+    {
+        double skip = Math.floor(Math.log(openUniform()) / Math.log1p(-weight));
+
+        // weight close to 0 or 1 gives infinite or NaN skip
+        if (!(skip >= 0)) {
+            return 0;
+        }
+
+        return (skip >= Long.MAX_VALUE / 2) ? Long.MAX_VALUE / 2 : (long) skip;
+    }
+
+    // Uniform random number in (0, 1)
+    private static double openUniform()
+    {
+        double value;
+        do {
+            value = StdRandom.uniform();
+        } while (value == 0);
+
+        return value;
+    }
+
+    // Unit testing: frequency of each of n items in samples of k
+    public static void main(String[] args)
+    {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 10;
+        int k = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+        int samples = (args.length > 2) ? Integer.parseInt(args[2]) : 100000;
+
+        int[] frequency = new int[n];
+        for (int s = 0; s < samples; s++) {
+            ReservoirSampler<Integer> sampler = new ReservoirSampler<>(k);
+            for (int i = 0; i < n; i++) {
+                sampler.add(i);
+            }
+
+            for (int item: sampler) {
+                frequency[item]++;
+            }
+        }
+
+        double expected = (double) samples * Math.min(k, n) / n;
+        for (int i = 0; i < n; i++) {
+            StdOut.printf("Item %d: %d (expected %.0f)%n", i, frequency[i], expected);
+        }
+    }
+}
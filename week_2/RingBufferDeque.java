@@ -0,0 +1,488 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deque on a circular array (power of two capacity, so positions are wrapped with a mask),
+ * without node allocation per item.
+ *
+ * @author Dima Pasieka
+ */
+public class RingBufferDeque<Item> implements Iterable<Item>
+{
+    // Min capacity of items array (power of two)
+    private static final int MIN_CAPACITY = 8;
+
+    // Items in deque, from head position (wrapped around the end of array)
+    private Item[] items;
+
+    // Position of the first item
+    private int head;
+
+    // Deque size
+    private int size;
+
+    // Number of changes, so iterators detect changes made after their creation
+    private int modCount;
+
+    // Deque iterator
+    private class RingBufferDequeIterator implements Iterator<Item>
+    {
+        // Number of already returned items
+        private int returned;
+
+        // Deque modCount at creation
+        private final int expectedModCount = modCount;
+
+        public boolean hasNext()
+        {
+            return (returned < size);
+        }
+
+        public Item next()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Deque was changed during iteration");
+            }
+
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+
+            Item item = items[(head + returned) & (items.length - 1)];
+            returned++;
+
+            return item;
+        }
+    }
+
+    // Deque spliterator over positions [from, to) counted from head, split in halves
+    private class RingBufferDequeSpliterator implements Spliterator<Item>
+    {
+        // Next position
+        private int from;
+
+        // Position after the last item
+        private final int to;
+
+        // Deque modCount at creation
+        private final int expectedModCount;
+
+        private RingBufferDequeSpliterator(int from, int to, int expectedModCount)
+        {
+            this.from = from;
+            this.to = to;
+            this.expectedModCount = expectedModCount;
+        }
+
+        public boolean tryAdvance(Consumer<? super Item> action)
+        {
+            if (action == null) {
+                throw new NullPointerException("Action can't be null");
+            }
+
+            checkModCount();
+
+            if (from >= to) {
+                return false;
+            }
+
+            Item item = items[(head + from) & (items.length - 1)];
+            from++;
+
+            action.accept(item);
+
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super Item> action)
+        {
+            if (action == null) {
+                throw new NullPointerException("Action can't be null");
+            }
+
+            // changes by action are checked before each item (slots may be already cleared)
+            Item[] a = items;
+            int mask = a.length - 1;
+            int start = head;
+            for (; from < to && modCount == expectedModCount; from++) {
+                action.accept(a[(start + from) & mask]);
+            }
+
+            checkModCount();
+        }
+
+        public Spliterator<Item> trySplit()
+        {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+
+            Spliterator<Item> prefix = new RingBufferDequeSpliterator(from, middle, expectedModCount);
+            from = middle;
+
+            return prefix;
+        }
+
+        public long estimateSize()
+        {
+            return (to - from);
+        }
+
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+
+        // Fail if deque was changed after creation
+        private void checkModCount()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Deque was changed during iteration");
+            }
+        }
+    }
+
+    // Construct an empty deque
+    public RingBufferDeque()
+    {
+        items = (Item[]) new Object[MIN_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    // If the deque empty
+    public boolean isEmpty()
+    {
+        return (size == 0);
+    }
+
+    // Return the number of items on the deque
+    public int size()
+    {
+        return size;
+    }
+
+    // Add the item to the front
+    public void addFirst(Item item)
+    {
+        if (item == null) {
+            throw new NullPointerException("Can't add empty element to deque");
+        }
+
+        if (size == items.length) {
+            resizeItems(items.length * 2);
+        }
+
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
+    }
+
+    // Add the item to the end
+    public void addLast(Item item)
+    {
+        if (item == null) {
+            throw new NullPointerException("Can't add empty element to deque");
+        }
+
+        if (size == items.length) {
+            resizeItems(items.length * 2);
+        }
+
+        items[(head + size) & (items.length - 1)] = item;
+        size++;
+        modCount++;
+    }
+
+    // Remove and return the item from the front
+    public Item removeFirst()
+    {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+
+        Item item = items[head];
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
+        size--;
+        modCount++;
+
+        shrinkItems();
+
+        return item;
+    }
+
+    // Remove and return the item from the end
+    public Item removeLast()
+    {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+
+        int last = (head + size - 1) & (items.length - 1);
+        Item item = items[last];
+        items[last] = null;
+        size--;
+        modCount++;
+
+        shrinkItems();
+
+        return item;
+    }
+
+    // Add all items to the end (in array order)
+    public void addAllLast(Item[] newItems)
+    {
+        checkNewItems(newItems);
+        ensureCapacity(size + newItems.length);
+
+        // items up to the end of array, then wrapped ones from the start
+        int tail = (head + size) & (items.length - 1);
+        int tailPart = Math.min(newItems.length, items.length - tail);
+        System.arraycopy(newItems, 0, items, tail, tailPart);
+        System.arraycopy(newItems, tailPart, items, 0, newItems.length - tailPart);
+
+        size += newItems.length;
+        modCount++;
+    }
+
+    // Add all items to the end (in collection iteration order)
+    public void addAllLast(Collection<? extends Item> newItems)
+    {
+        if (newItems == null) {
+            throw new NullPointerException("Can't add empty collection to deque");
+        }
+
+        addAllLast((Item[]) newItems.toArray());
+    }
+
+    // Add all items to the front, so the first array item becomes the first deque item
+    public void addAllFirst(Item[] newItems)
+    {
+        checkNewItems(newItems);
+        ensureCapacity(size + newItems.length);
+
+        int newHead = (head - newItems.length) & (items.length - 1);
+        int headPart = Math.min(newItems.length, items.length - newHead);
+        System.arraycopy(newItems, 0, items, newHead, headPart);
+        System.arraycopy(newItems, headPart, items, 0, newItems.length - headPart);
+
+        head = newHead;
+        size += newItems.length;
+        modCount++;
+    }
+
+    // Add all items to the front, so the first collection item becomes the first deque item
+    public void addAllFirst(Collection<? extends Item> newItems)
+    {
+        if (newItems == null) {
+            throw new NullPointerException("Can't add empty collection to deque");
+        }
+
+        addAllFirst((Item[]) newItems.toArray());
+    }
+
+    // Remove up to max items from the front into array (from position 0), return number of removed items
+    public int drainTo(Item[] array, int max)
+    {
+        if (array == null) {
+            throw new NullPointerException("Can't drain to empty array");
+        }
+
+        if (max < 0 || max > array.length) {
+            throw new IllegalArgumentException("Max must be in [0, " + array.length + "]: " + max);
+        }
+
+        int count = Math.min(max, size);
+
+        int headPart = Math.min(count, items.length - head);
+        System.arraycopy(items, head, array, 0, headPart);
+        System.arraycopy(items, 0, array, headPart, count - headPart);
+
+        removeFront(count);
+
+        return count;
+    }
+
+    // Remove n items from the front
+    public void removeFirst(int n)
+    {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of items can't be negative: " + n);
+        }
+
+        if (n > size) {
+            throw new NoSuchElementException("Deque has only " + size + " items");
+        }
+
+        removeFront(n);
+    }
+
+    // Return an iterator over items in order from front to end
+    public Iterator<Item> iterator()
+    {
+        return new RingBufferDequeIterator();
+    }
+
+    // Return a fail-fast spliterator over items in order from front to end
+    public Spliterator<Item> spliterator()
+    {
+        return new RingBufferDequeSpliterator(0, size, modCount);
+    }
+
+    // Return a sequential stream of items in order from front to end
+    public Stream<Item> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Return a parallel stream of items in order from front to end
+    public Stream<Item> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // Clear and skip count items from the front
+    private void removeFront(int count)
+    {
+        int headPart = Math.min(count, items.length - head);
+        Arrays.fill(items, head, head + headPart, null);
+        Arrays.fill(items, 0, count - headPart, null);
+
+        head = (head + count) & (items.length - 1);
+        size -= count;
+        modCount++;
+
+        shrinkItems();
+    }
+
+    // Halve items array (repeatedly after bulk removal) while it's only a quarter full
+    private void shrinkItems()
+    {
+        int length = items.length;
+        while (length > MIN_CAPACITY && size <= length / 4) {
+            length /= 2;
+        }
+
+        if (length != items.length) {
+            resizeItems(length);
+        }
+    }
+
+    // Grow items array to power of two length not less than capacity
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity < 0) {
+            throw new IllegalStateException("Deque is too large");
+        }
+
+        int length = items.length;
+        while (length < capacity) {
+            length *= 2;
+            if (length <= 0) {
+                throw new IllegalStateException("Deque is too large");
+            }
+        }
+
+        if (length != items.length) {
+            resizeItems(length);
+        }
+    }
+
+    // Validate items to add (before deque is changed)
+    private void checkNewItems(Item[] newItems)
+    {
+        if (newItems == null) {
+            throw new NullPointerException("Can't add empty array to deque");
+        }
+
+        for (Item item: newItems) {
+            if (item == null) {
+                throw new NullPointerException("Can't add empty element to deque");
+            }
+        }
+    }
+
+    // Resize items array, items are moved to start from position 0
+    private void resizeItems(int length)
+    {
+        Item[] newItems = (Item[]) new Object[length];
+
+        // items from head to the end of array, then wrapped ones from the start
+        int headPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, newItems, 0, headPart);
+        System.arraycopy(items, 0, newItems, headPart, size - headPart);
+
+        items = newItems;
+        head = 0;
+    }
+
+    // Unit testing
+    public static void main(String[] args)
+    {
+        RingBufferDeque<String> deque = new RingBufferDeque<>();
+
+        String text = "World";
+        deque.addFirst(text);
+        StdOut.println("addFirst() with: '" + text + "'");
+
+        text = ", ";
+        deque.addFirst(text);
+        StdOut.println("addFirst() with: '" + text + "'");
+
+        text = "Hello";
+        deque.addFirst(text);
+        StdOut.println("addFirst() with: '" + text + "'");
+
+        text = "Meow, ";
+        deque.addFirst(text);
+        StdOut.println("addFirst() with: '" + text + "'");
+
+        text = "^^";
+        deque.addLast(text);
+        StdOut.println("addLast() with: '" + text + "'");
+
+        deque.removeFirst();
+        StdOut.println("removeFirst()");
+
+        deque.removeLast();
+        StdOut.println("removeLast()");
+
+        text = "!";
+        deque.addLast(text);
+        StdOut.println("addLast() with: '" + text + "'");
+
+        StdOut.println("Iterating deque...");
+        for (String item: deque) {
+            StdOut.println("Iterate element: " + item);
+        }
+
+        deque.addAllFirst(new String[] {"1", "2"});
+        StdOut.println("addAllFirst() with: [1, 2]");
+
+        deque.addAllLast(List.of("3", "4"));
+        StdOut.println("addAllLast() with: [3, 4]");
+
+        deque.removeFirst(1);
+        StdOut.println("removeFirst(1)");
+
+        String[] drained = new String[4];
+        int count = deque.drainTo(drained, drained.length);
+        StdOut.println("drainTo(): " + Arrays.toString(Arrays.copyOf(drained, count)) + ", left: " + deque.size());
+
+        StdOut.println("Joined by parallel stream: '" + deque.parallelStream().collect(Collectors.joining()) + "'");
+    }
+}
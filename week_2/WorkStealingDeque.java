@@ -0,0 +1,303 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free Chase-Lev work-stealing deque.
+ * Only the owner thread adds and removes at the end (addLast, removeLast),
+ * any thread can steal from the front (removeFirst), without locks.
+ * API is narrower than Deque: there is no addFirst, as the front is shared by thieves
+ * and the algorithm has no safe push there (so such calls don't compile).
+ * Slots of items removed by owner are cleared at once, slots of stolen items are
+ * reclaimed when the ring wraps around to them (a thief can't clear its slot safely).
+ *
+ * @author Dima Pasieka
+ */
+public class WorkStealingDeque<Item> implements Iterable<Item>
+{
+    // Initial capacity of items array (power of two)
+    private static final int INITIAL_CAPACITY = 32;
+
+    // CAS of top
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Position of the first item (moved by thieves and by owner taking the last item)
+    private volatile long top;
+
+    // Position after the last item (moved by owner only)
+    private volatile long bottom;
+
+    // Items at positions [top, bottom), position is wrapped with a mask.
+    // Array only grows: old array keeps all items for thieves still reading it
+    private volatile Object[] items;
+
+    // Deque iterator (weakly consistent: items in deque at creation, some may be already taken)
+    private class WorkStealingDequeIterator implements Iterator<Item>
+    {
+        // Items array at creation
+        private final Object[] snapshot;
+
+        // Position after the last item at creation
+        private final long end;
+
+        // Position of next item
+        private long current;
+
+        private WorkStealingDequeIterator()
+        {
+            current = top;
+            end = bottom;
+            snapshot = items;
+        }
+
+        public boolean hasNext()
+        {
+            return (current < end);
+        }
+
+        public Item next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+
+            Item item = (Item) snapshot[(int) current & (snapshot.length - 1)];
+            current++;
+
+            return item;
+        }
+    }
+
+    // Construct an empty deque
+    public WorkStealingDeque()
+    {
+        items = new Object[INITIAL_CAPACITY];
+        top = 0;
+        bottom = 0;
+    }
+
+    // If the deque empty (may be outdated at once if other threads use it)
+    public boolean isEmpty()
+    {
+        return (size() == 0);
+    }
+
+    // Return the number of items on the deque (may be outdated at once if other threads use it)
+    public int size()
+    {
+        long t = top;
+        long b = bottom;
+
+        return (int) Math.max(0, b - t);
+    }
+
+    // Add the item to the end (owner thread only)
+    public void addLast(Item item)
+    {
+        if (item == null) {
+            throw new NullPointerException("Can't add empty element to deque");
+        }
+
+        long b = bottom;
+        long t = top;
+        Object[] a = items;
+
+        if (b - t >= a.length) {
+            a = growItems(a, t, b);
+        }
+
+        a[(int) b & (a.length - 1)] = item;
+
+        // volatile write publishes the item to thieves
+        bottom = b + 1;
+    }
+
+    // Remove and return the item from the front (any thread)
+    public Item removeFirst()
+    {
+        Item item = pollFirst();
+        if (item == null) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+
+        return item;
+    }
+
+    // Remove and return the item from the end (owner thread only)
+    public Item removeLast()
+    {
+        Item item = pollLast();
+        if (item == null) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+
+        return item;
+    }
+
+    // Steal and return the item from the front or null if deque is empty (any thread)
+    public Item pollFirst()
+    {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+
+            Object[] a = items;
+            Item item = (Item) a[(int) t & (a.length - 1)];
+
+            // failed CAS means other thread took the item, so retry is lock-free.
+            // Slot isn't cleared: after CAS owner may already reuse it, so a stolen item
+            // stays reachable until addLast wraps the ring to its slot (or array grows)
+            if (TOP.compareAndSet(this, t, t + 1)) {
+                return item;
+            }
+        }
+    }
+
+    // Remove and return the item from the end or null if deque is empty (owner thread only)
+    public Item pollLast()
+    {
+        long b = bottom - 1;
+        Object[] a = items;
+
+        // volatile write and then volatile read: thieves see reserved item before top is read
+        bottom = b;
+        long t = top;
+
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+
+        int index = (int) b & (a.length - 1);
+        Item item = (Item) a[index];
+
+        if (t < b) {
+            // thieves can't reach the item any more
+            a[index] = null;
+            return item;
+        }
+
+        // the last item: race with thieves for it
+        if (!TOP.compareAndSet(this, t, t + 1)) {
+            item = null;
+        }
+
+        // top is past the slot either way, so thieves don't return it and owner can clear it
+        a[index] = null;
+        bottom = b + 1;
+
+        return item;
+    }
+
+    // Return a weakly consistent iterator over items in order from front to end
+    public Iterator<Item> iterator()
+    {
+        return new WorkStealingDequeIterator();
+    }
+
+    // Double items array, return the new one
+    private Object[] growItems(Object[] a, long t, long b)
+    {
+        Object[] newItems = new Object[a.length * 2];
+        for (long i = t; i < b; i++) {
+            newItems[(int) i & (newItems.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+
+        items = newItems;
+
+        return newItems;
+    }
+
+    // Stress testing: owner adds and removes items, thieves steal them,
+    // each item must be taken exactly once.
+    // Args: [thieves [items]]
+    public static void main(String[] args) throws InterruptedException
+    {
+        int thievesNumber = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        int itemsNumber = (args.length > 1) ? Integer.parseInt(args[1]) : 1000000;
+
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(itemsNumber);
+        AtomicLong stolen = new AtomicLong();
+        AtomicLong ownerTaken = new AtomicLong();
+
+        Thread owner = new Thread(() -> {
+            for (int i = 0; i < itemsNumber; i++) {
+                deque.addLast(i);
+
+                // take back every third item to race with thieves at the end
+                if (i % 3 == 0) {
+                    Integer item = deque.pollLast();
+                    if (item != null) {
+                        taken.incrementAndGet(item);
+                        ownerTaken.incrementAndGet();
+                    }
+                }
+            }
+
+            Integer item;
+            while ((item = deque.pollLast()) != null) {
+                taken.incrementAndGet(item);
+                ownerTaken.incrementAndGet();
+            }
+        });
+
+        Thread[] thieves = new Thread[thievesNumber];
+        for (int i = 0; i < thievesNumber; i++) {
+            thieves[i] = new Thread(() -> {
+                while (owner.isAlive() || !deque.isEmpty()) {
+                    Integer item = deque.pollFirst();
+                    if (item != null) {
+                        taken.incrementAndGet(item);
+                        stolen.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        owner.start();
+        for (Thread thief: thieves) {
+            thief.start();
+        }
+
+        owner.join();
+        for (Thread thief: thieves) {
+            thief.join();
+        }
+
+        int lost = 0;
+        int duplicated = 0;
+        for (int i = 0; i < itemsNumber; i++) {
+            if (taken.get(i) == 0) {
+                lost++;
+            } else if (taken.get(i) > 1) {
+                duplicated++;
+            }
+        }
+
+        StdOut.println("Owner took:      " + ownerTaken.get());
+        StdOut.println("Thieves stole:   " + stolen.get());
+        StdOut.println("Lost items:      " + lost);
+        StdOut.println("Duplicate items: " + duplicated);
+
+        if (lost != 0 || duplicated != 0) {
+            throw new IllegalStateException("Each item must be taken exactly once");
+        }
+    }
+}